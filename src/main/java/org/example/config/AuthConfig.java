@@ -10,7 +10,14 @@ import org.springframework.stereotype.Component;
 public class AuthConfig {
 
   private PathAndMethod[] nonAuthPaths;
+  private PathAndMethod[] applicantPaths;
+  private PathAndMethod[] companyPaths;
 
+  /**
+   * pathはセグメント単位で評価する
+   * "*"は任意の1セグメント、末尾の"**"は0個以上のセグメントにマッチする
+   * methodを省略した場合は全メソッドにマッチする
+   */
   @Data
   public static class PathAndMethod {
     private String path;
@@ -0,0 +1,14 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "batch")
+@Data
+public class BatchConfig {
+
+  /** 1回の往復でまとめて書き込む行数 */
+  private int chunkSize = 100;
+}
@@ -0,0 +1,32 @@
+package org.example.config;
+
+import org.springframework.stereotype.Component;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * ブロッキングする処理がNettyのイベントループで呼ばれていないか確かめる
+ * イベントループのスレッドはReactorのNonBlockingを実装しているため、それで判定する
+ * BCryptのようにCPUを長く占有するだけの処理はBlockHoundでは検出できないため、
+ * そうした処理の入口でcheckを呼ぶ
+ */
+@Component
+public class BlockingCallDetector {
+
+  private final BlockingConfig blockingConfig;
+
+  public BlockingCallDetector(BlockingConfig blockingConfig) {
+    this.blockingConfig = blockingConfig;
+  }
+
+  /**
+   * blocking.detectが有効で、ノンブロッキングのスレッドで呼ばれた場合は例外を投げる
+   *
+   * @param operation 処理の名前
+   */
+  public void check(String operation) {
+    if (blockingConfig.isDetect() && Schedulers.isInNonBlockingThread()) {
+      throw new IllegalStateException("%s must not run on the non-blocking thread %s."
+          .formatted(operation, Thread.currentThread().getName()));
+    }
+  }
+}
@@ -0,0 +1,23 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "blocking")
+@Data
+public class BlockingConfig {
+
+  /** ブロッキングする処理をタスクごとの仮想スレッドで実行するか */
+  private boolean virtualThreads = false;
+  /** 仮想スレッドを使わない場合のスレッド数の上限 */
+  private int maxThreads = 10 * Runtime.getRuntime().availableProcessors();
+  /**
+   * 仮想スレッドを使わない場合は全スレッドが埋まっているときに待たせるタスク数の上限、
+   * 使う場合は実行中のタスク数の上限。超えた分は拒否する
+   */
+  private int queueCapacity = 10000;
+  /** ノンブロッキングのスレッドでブロッキングする処理が呼ばれたら例外を投げるか。テスト用 */
+  private boolean detect = false;
+}
@@ -0,0 +1,75 @@
+package org.example.config;
+
+import java.util.List;
+import java.util.concurrent.AbstractExecutorService;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+
+/**
+ * 同時に抱えるタスク数に上限を設けるExecutorService
+ * タスクごとに仮想スレッドを起動するExecutorServiceには待ち行列がないため、
+ * 上限を超えたタスクは実行せずにRejectedExecutionExceptionで断る
+ */
+class BoundedExecutorService extends AbstractExecutorService {
+
+  private final ExecutorService delegate;
+  private final Semaphore permits;
+
+  /**
+   * @param delegate 実際にタスクを実行するExecutorService
+   * @param capacity 実行中のタスク数の上限
+   */
+  BoundedExecutorService(ExecutorService delegate, int capacity) {
+    this.delegate = delegate;
+    this.permits = new Semaphore(capacity);
+  }
+
+  @Override
+  public void execute(@NonNull Runnable command) {
+    if (!permits.tryAcquire()) {
+      throw new RejectedExecutionException("blocking tasks exceeded the capacity.");
+    }
+    try {
+      delegate.execute(() -> {
+        try {
+          command.run();
+        } finally {
+          permits.release();
+        }
+      });
+    } catch (RejectedExecutionException e) {
+      permits.release();
+      throw e;
+    }
+  }
+
+  @Override
+  public void shutdown() {
+    delegate.shutdown();
+  }
+
+  @Override
+  @NonNull
+  public List<Runnable> shutdownNow() {
+    return delegate.shutdownNow();
+  }
+
+  @Override
+  public boolean isShutdown() {
+    return delegate.isShutdown();
+  }
+
+  @Override
+  public boolean isTerminated() {
+    return delegate.isTerminated();
+  }
+
+  @Override
+  public boolean awaitTermination(long timeout, @NonNull TimeUnit unit)
+      throws InterruptedException {
+    return delegate.awaitTermination(timeout, unit);
+  }
+}
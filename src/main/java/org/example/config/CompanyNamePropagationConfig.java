@@ -0,0 +1,21 @@
+package org.example.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "company.name-propagation")
+@Data
+public class CompanyNamePropagationConfig {
+
+  /** 社名変更をoffers.company_nameへ反映するか */
+  private boolean enabled = true;
+  /** 起動時に社名が食い違うオファーを全企業分直すか。offersの全件を走査するため既定では行わない */
+  private boolean reconcileOnStartup = false;
+  /** 反映の間隔 */
+  private Duration interval = Duration.ofSeconds(5);
+  /** 1回のUPDATEで反映する企業数 */
+  private int batchSize = 100;
+}
@@ -0,0 +1,80 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import java.util.Locale;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.r2dbc.core.DatabaseClient;
+
+@Configuration
+public class ConnectionFactoryConfig {
+
+  private static final String CONNECTION_FACTORY_SUFFIX = "connectionfactory";
+
+  /**
+   * spring.r2dbc.pool.*の設定でBootが作るConnectionPoolを、取得の待ち時間を計測する
+   * TimedConnectionFactoryで包む
+   * プールの使用状況はActuatorがr2dbc.pool.*として公開するため、同じnameタグを付ける
+   *
+   * @param meterRegistry メトリクスの登録先
+   *
+   * @return ConnectionPoolだけを包むBeanPostProcessor
+   */
+  @Bean
+  public static BeanPostProcessor timedConnectionFactoryPostProcessor(
+      ObjectProvider<MeterRegistry> meterRegistry) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof ConnectionPool pool) {
+          return new TimedConnectionFactory(pool, meterRegistry.getObject(), poolName(beanName));
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Bootが作るDatabaseClientを、fetch-size.default-sizeの取得行数を全てのステートメントに
+   * 設定するように変える。接続やバインドの設定はmutateでそのまま引き継ぐ
+   * リポジトリのR2dbcEntityTemplateも同じDatabaseClientを使うため、ページ単位の読み出しにも効く
+   * 0の場合はDatabaseClientをそのまま返し、ドライバーの設定に任せる
+   *
+   * @param fetchSizeConfig 取得行数の設定
+   *
+   * @return DatabaseClientだけを変えるBeanPostProcessor
+   */
+  @Bean
+  public static BeanPostProcessor fetchSizeDatabaseClientPostProcessor(
+      ObjectProvider<FetchSizeConfig> fetchSizeConfig) {
+    return new BeanPostProcessor() {
+      @Override
+      public Object postProcessAfterInitialization(Object bean, String beanName) {
+        if (bean instanceof DatabaseClient databaseClient) {
+          int fetchSize = fetchSizeConfig.getObject().getDefaultSize();
+          if (fetchSize > 0) {
+            return databaseClient.mutate()
+                .executeFunction(statement -> statement.fetchSize(fetchSize).execute())
+                .build();
+          }
+        }
+        return bean;
+      }
+    };
+  }
+
+  /**
+   * Actuatorがr2dbc.pool.*のnameタグに使う名前
+   * Bean名の末尾のConnectionFactoryを除いたもので、Bean名がそれだけの場合はそのまま使う
+   */
+  static String poolName(String beanName) {
+    if (beanName.length() > CONNECTION_FACTORY_SUFFIX.length()
+        && beanName.toLowerCase(Locale.ROOT).endsWith(CONNECTION_FACTORY_SUFFIX)) {
+      return beanName.substring(0, beanName.length() - CONNECTION_FACTORY_SUFFIX.length());
+    }
+    return beanName;
+  }
+}
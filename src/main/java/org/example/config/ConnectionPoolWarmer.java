@@ -0,0 +1,41 @@
+package org.example.config;
+
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Wrapped;
+import java.util.Optional;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.SmartInitializingSingleton;
+import org.springframework.stereotype.Component;
+
+/**
+ * 起動時にspring.r2dbc.pool.initial-size分の接続の確立を始める
+ * 起動は待たせず、確立できなくても最初のリクエストで改めて接続する
+ */
+@Component
+@Slf4j
+public class ConnectionPoolWarmer implements SmartInitializingSingleton {
+
+  private final ConnectionFactory connectionFactory;
+
+  public ConnectionPoolWarmer(ConnectionFactory connectionFactory) {
+    this.connectionFactory = connectionFactory;
+  }
+
+  @Override
+  public void afterSingletonsInstantiated() {
+    pool(connectionFactory).ifPresent(pool -> pool.warmup().subscribe(
+        count -> log.info("R2DBCのコネクションを{}件確立しました。", count),
+        e -> log.warn("R2DBCのコネクションを事前に確立できませんでした。 {}", e.getMessage())));
+  }
+
+  private static Optional<ConnectionPool> pool(Object connectionFactory) {
+    if (connectionFactory instanceof ConnectionPool pool) {
+      return Optional.of(pool);
+    }
+    if (connectionFactory instanceof Wrapped<?> wrapped) {
+      return pool(wrapped.unwrap());
+    }
+    return Optional.empty();
+  }
+}
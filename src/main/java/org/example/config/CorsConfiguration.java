@@ -1,5 +1,6 @@
 package org.example.config;
 
+import org.example.constant.HeaderKeys;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.web.reactive.config.CorsRegistry;
 import org.springframework.web.reactive.config.EnableWebFlux;
@@ -15,6 +16,7 @@ public class CorsConfiguration implements WebFluxConfigurer {
         .allowedOriginPatterns("http://localhost:*")
         .allowedMethods("GET", "POST", "PUT", "DELETE", "OPTIONS", "HEAD", "PATCH")
         .allowedHeaders("Content-Type", "Set-Cookie", "Cookie", "Authorization")
+        .exposedHeaders(HeaderKeys.NEXT_CURSOR)
         .allowCredentials(true);
   }
 }
\ No newline at end of file
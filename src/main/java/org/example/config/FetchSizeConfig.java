@@ -0,0 +1,32 @@
+package org.example.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "fetch-size")
+@Data
+public class FetchSizeConfig {
+
+  /**
+   * 全てのクエリで1回に取得する行数。リポジトリのページ単位の読み出しにも効く
+   * 0の場合はドライバーの設定 (spring.r2dbc.properties.fetchSize) に従う
+   */
+  private int defaultSize = 0;
+  /** テーブルを走査するクエリで1回に取得する行数。テーブル名ごとに指定する */
+  private Map<String, Integer> tables = new HashMap<>();
+
+  /**
+   * テーブルを走査するクエリの取得行数を返す
+   *
+   * @param table テーブル名
+   *
+   * @return tablesの指定。指定がない場合はdefaultSize
+   */
+  public int forTable(String table) {
+    return tables.getOrDefault(table, defaultSize);
+  }
+}
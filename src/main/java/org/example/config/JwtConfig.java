@@ -1,5 +1,7 @@
 package org.example.config;
 
+import java.util.HashMap;
+import java.util.Map;
 import lombok.Data;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.stereotype.Component;
@@ -10,6 +12,19 @@ import org.springframework.stereotype.Component;
 public class JwtConfig {
 
   private String secretKey;
+  /** secretKeyに対応するkidヘッダ */
+  private String keyId;
+  /** ローテーション済みで検証のみに使う鍵 (kid -> secret) */
+  private Map<String, String> retiredKeys = new HashMap<>();
   /** in milliseconds */
   private Long ttl;
+  private Cache cache = new Cache();
+
+  @Data
+  public static class Cache {
+    /** 検証済みトークンのキャッシュを使うか */
+    private boolean enabled = true;
+    /** 主体ごとの最大エントリ数 */
+    private int maxSize = 10000;
+  }
 }
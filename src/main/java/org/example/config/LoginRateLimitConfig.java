@@ -0,0 +1,26 @@
+package org.example.config;
+
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "login-rate-limit")
+@Data
+public class LoginRateLimitConfig {
+
+  private boolean enabled = true;
+  /** 試行回数を数える窓の長さ */
+  private Duration window = Duration.ofMinutes(1);
+  /** 1つのIPアドレスから窓の間に受け付けるログインの試行回数 */
+  private int maxAttemptsPerIp = 20;
+  /** 1つのemailに対して窓の間に受け付けるログインの試行回数 */
+  private int maxAttemptsPerEmail = 5;
+  /** 数えるキーの上限。達している間、新しいキーの試行は古いキーが捨てられるまで断る */
+  private int maxKeys = 100000;
+  /** IPアドレスで制限するPOSTのパス */
+  private List<String> paths = new ArrayList<>();
+}
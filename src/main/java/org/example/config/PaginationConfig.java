@@ -0,0 +1,16 @@
+package org.example.config;
+
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "pagination")
+@Data
+public class PaginationConfig {
+
+  /** limitを指定しない場合の件数 */
+  private int defaultLimit = 100;
+  /** limitの上限 */
+  private int maxLimit = 1000;
+}
@@ -0,0 +1,73 @@
+package org.example.config;
+
+import java.time.Duration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+
+/**
+ * 起動したマシンで実際にハッシュ計算を行い、目標時間に収まる最も強いコストを選ぶ
+ * 下限より弱いコストは、目標時間を超えても選ばない
+ */
+public class PasswordCostCalibrator {
+
+  private static final String SAMPLE = "calibration-sample-password";
+  private static final int SAMPLES = 3;
+
+  private final long targetNanos;
+
+  public PasswordCostCalibrator(Duration targetTime) {
+    targetNanos = targetTime.toNanos();
+  }
+
+  /**
+   * BCryptのコストを選ぶ
+   * コストが1増えるごとに計算時間は倍になるため、下限のコストで1回測って外挿する
+   *
+   * @param minCost 下限
+   * @param maxCost 上限
+   *
+   * @return minCost以上maxCost以下のコスト
+   */
+  public int bcryptCost(int minCost, int maxCost) {
+    long nanos = measure(new BCryptPasswordEncoder(minCost));
+    int cost = minCost;
+    while (cost < maxCost && nanos * 2 <= targetNanos) {
+      nanos *= 2;
+      cost++;
+    }
+    return cost;
+  }
+
+  /**
+   * Argon2の反復回数を選ぶ
+   * 計算時間は反復回数にほぼ比例するため、1回の反復で測って割り戻す
+   *
+   * @param memory        in KiB
+   * @param parallelism   並列度
+   * @param minIterations 下限
+   * @param maxIterations 上限
+   *
+   * @return minIterations以上maxIterations以下の反復回数
+   */
+  public int argon2Iterations(int memory, int parallelism, int minIterations,
+      int maxIterations) {
+    long nanos = measure(new Argon2PasswordEncoder(16, 32, parallelism, memory, 1));
+    long iterations = targetNanos / Math.max(nanos, 1);
+    return (int) Math.max(minIterations, Math.min(iterations, maxIterations));
+  }
+
+  /**
+   * 1回目はJITのウォームアップとして捨て、残りの最短時間を返す
+   */
+  long measure(PasswordEncoder encoder) {
+    encoder.encode(SAMPLE);
+    long best = Long.MAX_VALUE;
+    for (int i = 0; i < SAMPLES; i++) {
+      long start = System.nanoTime();
+      encoder.encode(SAMPLE);
+      best = Math.min(best, System.nanoTime() - start);
+    }
+    return best;
+  }
+}
@@ -0,0 +1,89 @@
+package org.example.config;
+
+import java.util.HashMap;
+import java.util.Map;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.security.crypto.argon2.Argon2PasswordEncoder;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.DelegatingPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder;
+import org.springframework.security.crypto.password.Pbkdf2PasswordEncoder.SecretKeyFactoryAlgorithm;
+
+@Configuration
+@Slf4j
+public class PasswordEncoderConfig {
+
+  public static final String BCRYPT = "bcrypt";
+  public static final String ARGON2 = "argon2";
+  public static final String PBKDF2 = "pbkdf2";
+
+  /**
+   * ハッシュ値の先頭に{bcrypt}のようなアルゴリズムのIDを付け、照合はIDに対応するエンコーダーで行う
+   * IDのない既存のハッシュ値はBCryptとして照合する
+   * 新しくハッシュ化するアルゴリズムと違うID、またはより弱いコストのハッシュ値は
+   * upgradeEncodingがtrueを返すため、ログイン時に再ハッシュする
+   * ハッシュ計算はblockingCallDetectorを通し、イベントループで呼ばれていないか確かめる
+   *
+   * @param passwordHashingConfig パスワードのハッシュ化の設定
+   * @param blockingCallDetector  ブロッキングする処理の検出
+   *
+   * @return アルゴリズムを委譲するエンコーダー
+   */
+  @Bean
+  public PasswordEncoder passwordEncoder(PasswordHashingConfig passwordHashingConfig,
+      BlockingCallDetector blockingCallDetector) {
+    String algorithm = passwordHashingConfig.getAlgorithm();
+    boolean calibrate = passwordHashingConfig.isCalibrate();
+    PasswordCostCalibrator calibrator =
+        new PasswordCostCalibrator(passwordHashingConfig.getTargetTime());
+
+    PasswordHashingConfig.Bcrypt bcrypt = passwordHashingConfig.getBcrypt();
+    int cost = calibrate && BCRYPT.equals(algorithm)
+        ? calibrator.bcryptCost(bcrypt.getMinCost(), bcrypt.getMaxCost())
+        : bcrypt.getCost();
+
+    PasswordHashingConfig.Argon2 argon2 = passwordHashingConfig.getArgon2();
+    int iterations = calibrate && ARGON2.equals(algorithm)
+        ? calibrator.argon2Iterations(argon2.getMemory(), argon2.getParallelism(),
+            argon2.getMinIterations(), argon2.getMaxIterations())
+        : argon2.getIterations();
+
+    Map<String, PasswordEncoder> encoders = new HashMap<>();
+    encoders.put(BCRYPT, new BCryptPasswordEncoder(cost));
+    encoders.put(ARGON2, new Argon2PasswordEncoder(16, 32, argon2.getParallelism(),
+        argon2.getMemory(), iterations));
+    encoders.put(PBKDF2, new Pbkdf2PasswordEncoder("", 16,
+        passwordHashingConfig.getPbkdf2().getIterations(),
+        SecretKeyFactoryAlgorithm.PBKDF2WithHmacSHA256));
+    DelegatingPasswordEncoder passwordEncoder = new DelegatingPasswordEncoder(algorithm, encoders);
+    passwordEncoder.setDefaultPasswordEncoderForMatches(encoders.get(BCRYPT));
+
+    log.info("パスワードを{}でハッシュ化します。 bcrypt.cost={}, argon2.iterations={}",
+        algorithm, cost, iterations);
+    return new DetectingPasswordEncoder(passwordEncoder, blockingCallDetector);
+  }
+
+  private record DetectingPasswordEncoder(PasswordEncoder delegate,
+      BlockingCallDetector blockingCallDetector) implements PasswordEncoder {
+
+    @Override
+    public String encode(CharSequence rawPassword) {
+      blockingCallDetector.check("Password hashing");
+      return delegate.encode(rawPassword);
+    }
+
+    @Override
+    public boolean matches(CharSequence rawPassword, String encodedPassword) {
+      blockingCallDetector.check("Password hashing");
+      return delegate.matches(rawPassword, encodedPassword);
+    }
+
+    @Override
+    public boolean upgradeEncoding(String encodedPassword) {
+      return delegate.upgradeEncoding(encodedPassword);
+    }
+  }
+}
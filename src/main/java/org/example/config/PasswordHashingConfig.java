@@ -0,0 +1,55 @@
+package org.example.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "password-hashing")
+@Data
+public class PasswordHashingConfig {
+
+  /** 同時にハッシュ計算を行う数 */
+  private int concurrency = Runtime.getRuntime().availableProcessors();
+  /** 計算待ちで受け付ける数。超えた分は503で断る */
+  private int queueCapacity = 64;
+  /** 新しくハッシュ化するときのアルゴリズム (bcrypt, argon2, pbkdf2) */
+  private String algorithm = "bcrypt";
+  /** 起動時に1回のハッシュ計算がtargetTimeに近づくようコストを決めるか */
+  private boolean calibrate = true;
+  /** 1回のハッシュ計算にかける目標時間 */
+  private Duration targetTime = Duration.ofMillis(250);
+  private Bcrypt bcrypt = new Bcrypt();
+  private Argon2 argon2 = new Argon2();
+  private Pbkdf2 pbkdf2 = new Pbkdf2();
+
+  @Data
+  public static class Bcrypt {
+    /** calibrateしない場合のコスト */
+    private int cost = 10;
+    /** calibrateで選ぶコストの下限。これより弱くはしない */
+    private int minCost = 10;
+    /** calibrateで選ぶコストの上限 */
+    private int maxCost = 16;
+  }
+
+  @Data
+  public static class Argon2 {
+    /** in KiB */
+    private int memory = 19456;
+    private int parallelism = 1;
+    /** calibrateしない場合の反復回数 */
+    private int iterations = 2;
+    /** calibrateで選ぶ反復回数の下限 */
+    private int minIterations = 2;
+    /** calibrateで選ぶ反復回数の上限 */
+    private int maxIterations = 10;
+  }
+
+  @Data
+  public static class Pbkdf2 {
+    /** ハッシュ値に反復回数が残らないため、calibrateの対象外 */
+    private int iterations = 310000;
+  }
+}
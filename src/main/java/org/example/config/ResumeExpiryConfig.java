@@ -0,0 +1,25 @@
+package org.example.config;
+
+import java.time.Duration;
+import lombok.Data;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.stereotype.Component;
+
+@Component
+@ConfigurationProperties(prefix = "resume.expiry")
+@Data
+public class ResumeExpiryConfig {
+
+  /** 期限切れの掃除を動かすか */
+  private boolean enabled = true;
+  /** ミントしてから期限切れになるまでの期間 */
+  private Duration ttl = Duration.ofDays(30);
+  /** 掃除の間隔 */
+  private Duration interval = Duration.ofMinutes(1);
+  /** 1回のUPDATEで期限切れにする件数 */
+  private int batchSize = 500;
+  /** 1回の掃除で処理するバッチ数の上限 */
+  private int maxBatches = 20;
+  /** 掃除を担当するノードのリース期間。intervalより長くする */
+  private Duration leaseTtl = Duration.ofMinutes(5);
+}
@@ -0,0 +1,37 @@
+package org.example.config;
+
+import java.util.concurrent.Executors;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.scheduling.annotation.EnableScheduling;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+
+@Configuration
+@EnableScheduling
+public class SchedulerConfig {
+
+  private static final String BLOCKING = "blocking";
+
+  /**
+   * ブロッキングする処理をNettyのイベントループから移すためのScheduler
+   * blocking.virtual-threadsが有効な場合はタスクごとに仮想スレッドを起動し、
+   * 実行中のタスクがblocking.queue-capacityを超えたらRejectedExecutionExceptionで断る
+   * 無効な場合はスレッド数に上限のあるboundedElasticで実行し、
+   * 待たせるタスクがblocking.queue-capacityを超えたらRejectedExecutionExceptionで断る
+   *
+   * @param blockingConfig ブロッキングする処理の設定
+   *
+   * @return Scheduler
+   */
+  @Bean(destroyMethod = "dispose")
+  public Scheduler blockingScheduler(BlockingConfig blockingConfig) {
+    if (blockingConfig.isVirtualThreads()) {
+      return Schedulers.fromExecutorService(new BoundedExecutorService(
+          Executors.newThreadPerTaskExecutor(Thread.ofVirtual().name(BLOCKING + "-", 0).factory()),
+          blockingConfig.getQueueCapacity()), BLOCKING);
+    }
+    return Schedulers.newBoundedElastic(blockingConfig.getMaxThreads(),
+        blockingConfig.getQueueCapacity(), BLOCKING);
+  }
+}
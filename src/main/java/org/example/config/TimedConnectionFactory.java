@@ -0,0 +1,69 @@
+package org.example.config;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.ConnectionFactoryMetadata;
+import io.r2dbc.spi.Wrapped;
+import java.util.concurrent.TimeUnit;
+import lombok.NonNull;
+import reactor.core.publisher.Mono;
+
+/**
+ * ConnectionPoolから接続を取得するまでの時間をr2dbc.pool.acquireとして記録する
+ * ActuatorがWrapped#unwrapでプールを取り出せるよう、プール自体は包むだけにする
+ * Actuatorのr2dbc.pool.*と突き合わせられるよう、同じnameタグを付ける
+ */
+public class TimedConnectionFactory implements ConnectionFactory, Wrapped<ConnectionPool> {
+
+  private static final String METRIC = "r2dbc.pool.acquire";
+
+  private final ConnectionPool pool;
+  private final Timer success;
+  private final Timer failure;
+
+  public TimedConnectionFactory(ConnectionPool pool, MeterRegistry meterRegistry, String name) {
+    this.pool = pool;
+    success = timer(meterRegistry, name, "success");
+    failure = timer(meterRegistry, name, "failure");
+  }
+
+  @Override
+  @NonNull
+  public Mono<Connection> create() {
+    return Mono.defer(() -> {
+      long start = System.nanoTime();
+      return pool.create()
+          .doOnSuccess(connection -> success.record(System.nanoTime() - start,
+              TimeUnit.NANOSECONDS))
+          .doOnError(e -> failure.record(System.nanoTime() - start, TimeUnit.NANOSECONDS));
+    });
+  }
+
+  @Override
+  @NonNull
+  public ConnectionFactoryMetadata getMetadata() {
+    return pool.getMetadata();
+  }
+
+  @Override
+  @NonNull
+  public ConnectionPool unwrap() {
+    return pool;
+  }
+
+  public void dispose() {
+    pool.dispose();
+  }
+
+  private static Timer timer(MeterRegistry meterRegistry, String name, String outcome) {
+    return Timer.builder(METRIC)
+        .description("Time to acquire a connection from the R2DBC pool")
+        .tag("name", name)
+        .tag("outcome", outcome)
+        .publishPercentileHistogram()
+        .register(meterRegistry);
+  }
+}
@@ -0,0 +1,25 @@
+package org.example.constant;
+
+import java.util.List;
+import lombok.AllArgsConstructor;
+import lombok.Getter;
+import org.springframework.http.MediaType;
+
+@AllArgsConstructor
+@Getter
+public enum ExportFormat {
+  CSV(MediaType.parseMediaType(ExportFormat.TEXT_CSV_VALUE)),
+  NDJSON(MediaType.APPLICATION_NDJSON);
+
+  public static final String TEXT_CSV_VALUE = "text/csv";
+
+  private final MediaType mediaType;
+
+  /**
+   * Acceptヘッダーから出力形式を決める
+   * NDJSONを明示した場合だけNDJSONにし、それ以外はCSVにする
+   */
+  public static ExportFormat of(List<MediaType> accept) {
+    return accept.stream().anyMatch(NDJSON.mediaType::equalsTypeAndSubtype) ? NDJSON : CSV;
+  }
+}
@@ -0,0 +1,9 @@
+package org.example.constant;
+
+public class HeaderKeys {
+
+  public static final String NEXT_CURSOR = "X-Next-Cursor";
+
+  private HeaderKeys() {
+  }
+}
@@ -5,8 +5,12 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import java.util.List;
 import lombok.NonNull;
 import lombok.extern.slf4j.Slf4j;
+import org.example.error.exception.BadRequestException;
+import org.example.error.exception.ConflictException;
 import org.example.error.exception.PasswordAuthenticationException;
 import org.example.error.exception.ForbiddenException;
+import org.example.error.exception.ServiceUnavailableException;
+import org.example.error.exception.TooManyRequestsException;
 import org.example.error.response.ErrorResponse;
 import org.springframework.boot.web.reactive.error.ErrorWebExceptionHandler;
 import org.springframework.core.io.buffer.DataBuffer;
@@ -49,6 +53,46 @@ public class GlobalExceptionHandler implements ErrorWebExceptionHandler {
               .build());
     }
 
+    if (ex instanceof BadRequestException) {
+      return setResponse(exchange, HttpStatus.BAD_REQUEST,
+          ErrorResponse.builder()
+              .status(HttpStatus.BAD_REQUEST.value())
+              .summary("リクエストの形式が不正")
+              .detail(ex.toString())
+              .message("リクエストが不正です。")
+              .build());
+    }
+
+    if (ex instanceof ConflictException) {
+      return setResponse(exchange, HttpStatus.CONFLICT,
+          ErrorResponse.builder()
+              .status(HttpStatus.CONFLICT.value())
+              .summary("リソースの状態が他のリクエストと競合")
+              .detail(ex.toString())
+              .message("他の操作と競合しました。")
+              .build());
+    }
+
+    if (ex instanceof TooManyRequestsException) {
+      return setResponse(exchange, HttpStatus.TOO_MANY_REQUESTS,
+          ErrorResponse.builder()
+              .status(HttpStatus.TOO_MANY_REQUESTS.value())
+              .summary("ログインの試行回数が上限を超えた")
+              .detail(ex.toString())
+              .message("ログインの試行回数が多すぎます。時間をおいて再度お試しください。")
+              .build());
+    }
+
+    if (ex instanceof ServiceUnavailableException) {
+      return setResponse(exchange, HttpStatus.SERVICE_UNAVAILABLE,
+          ErrorResponse.builder()
+              .status(HttpStatus.SERVICE_UNAVAILABLE.value())
+              .summary("サーバーの処理能力を超えるリクエスト")
+              .detail(ex.toString())
+              .message("混み合っています。時間をおいて再度お試しください。")
+              .build());
+    }
+
     log.error("""
         予期せぬエラーが発生しました。
         %s
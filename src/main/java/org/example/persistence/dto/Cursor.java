@@ -0,0 +1,19 @@
+package org.example.persistence.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * キーセットページネーションの位置
+ * 直前のページの最後の行の(updated_at, id)を表す
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class Cursor {
+
+  private LocalDateTime updatedAt;
+  private Long id;
+}
@@ -0,0 +1,20 @@
+package org.example.persistence.dto;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * エクスポートの絞り込み条件
+ * いずれもnullの場合は絞り込まない。期間はupdated_atに対してfrom以上to未満
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ExportFilter {
+
+  private Integer statusId;
+  private LocalDateTime from;
+  private LocalDateTime to;
+}
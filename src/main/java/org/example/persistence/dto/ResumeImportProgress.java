@@ -0,0 +1,24 @@
+package org.example.persistence.dto;
+
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+/**
+ * 履歴書の一括取込の進捗
+ * 読み込んだ行数と、登録した行数・取り込めなかった行数を表す
+ */
+@NoArgsConstructor
+@AllArgsConstructor
+@Data
+public class ResumeImportProgress {
+
+  private long processed;
+  private long imported;
+  private long rejected;
+
+  public ResumeImportProgress plus(ResumeImportProgress other) {
+    return new ResumeImportProgress(processed + other.processed, imported + other.imported,
+        rejected + other.rejected);
+  }
+}
@@ -25,6 +25,8 @@ public class Offer {
   private UUID resumeUuid;
   @Column("company_uuid")
   private UUID companyUuid;
+  @Column("company_name")
+  private String companyName;
   private Float price;
   private String message;
   @Column("status_id")
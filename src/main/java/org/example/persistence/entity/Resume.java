@@ -33,6 +33,9 @@ public class Resume {
   private Float minimumPrice;
   @Column("mint_status_id")
   private Integer mintStatusId;
+  @Column("expires_at")
+  @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+  private LocalDateTime expiresAt;
   @Column("created_at")
   @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
   private LocalDateTime createdAt;
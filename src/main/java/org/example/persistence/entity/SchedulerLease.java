@@ -0,0 +1,24 @@
+package org.example.persistence.entity;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Builder;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.relational.core.mapping.Column;
+import org.springframework.data.relational.core.mapping.Table;
+
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Builder
+@Table("scheduler_leases")
+public class SchedulerLease {
+
+  @Id
+  private String name;
+  private String owner;
+  @Column("expires_at")
+  private LocalDateTime expiresAt;
+}
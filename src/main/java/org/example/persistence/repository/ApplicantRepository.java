@@ -1,9 +1,12 @@
 package org.example.persistence.repository;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.NonNull;
 import org.example.persistence.entity.Applicant;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -15,6 +18,17 @@ public interface ApplicantRepository extends ReactiveCrudRepository<Applicant, S
   @NonNull
   Flux<Applicant> findAll(Sort sort);
 
+  @Query("SELECT * FROM applicants ORDER BY updated_at DESC, id DESC LIMIT :limit")
+  Flux<Applicant> findFirstPage(int limit);
+
+  @Query("""
+      SELECT * FROM applicants
+      WHERE (updated_at, id) < (:updatedAt, :id)
+      ORDER BY updated_at DESC, id DESC
+      LIMIT :limit
+      """)
+  Flux<Applicant> findPageAfter(LocalDateTime updatedAt, Long id, int limit);
+
   @NonNull
   Mono<Applicant> findByUuid(@NonNull UUID id);
 
@@ -23,6 +37,21 @@ public interface ApplicantRepository extends ReactiveCrudRepository<Applicant, S
   @NonNull
   Mono<Applicant> save(@NonNull Applicant applicant);
 
+  /**
+   * パスワードのハッシュ値だけを差し替える
+   * 更新日時とバージョンは変えない
+   * 読み込んだ後に別のリクエストがハッシュ値を変えていた場合は何もしない
+   *
+   * @return 差し替えた場合は1
+   */
+  @Modifying
+  @Query("""
+      UPDATE applicants SET password_digest = :passwordDigest
+      WHERE id = :id AND password_digest = :expectedPasswordDigest
+      """)
+  Mono<Integer> updatePasswordDigestById(Long id, String expectedPasswordDigest,
+      String passwordDigest);
+
   @NonNull
   Mono<Void> deleteByUuid(@NonNull UUID id);
 }
@@ -1,9 +1,12 @@
 package org.example.persistence.repository;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.NonNull;
 import org.example.persistence.entity.Company;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
@@ -15,6 +18,20 @@ public interface CompanyRepository extends ReactiveCrudRepository<Company, Strin
   @NonNull
   Flux<Company> findAll(Sort sort);
 
+  @Query("SELECT * FROM companies ORDER BY updated_at DESC, id DESC LIMIT :limit")
+  Flux<Company> findFirstPage(int limit);
+
+  @Query("""
+      SELECT * FROM companies
+      WHERE (updated_at, id) < (:updatedAt, :id)
+      ORDER BY updated_at DESC, id DESC
+      LIMIT :limit
+      """)
+  Flux<Company> findPageAfter(LocalDateTime updatedAt, Long id, int limit);
+
+  @Query("SELECT uuid FROM companies ORDER BY id")
+  Flux<UUID> findAllUuids();
+
   @NonNull
   Mono<Company> findByUuid(@NonNull UUID id);
 
@@ -23,6 +40,21 @@ public interface CompanyRepository extends ReactiveCrudRepository<Company, Strin
   @NonNull
   Mono<Company> save(@NonNull Company applicant);
 
+  /**
+   * パスワードのハッシュ値だけを差し替える
+   * 更新日時とバージョンは変えない
+   * 読み込んだ後に別のリクエストがハッシュ値を変えていた場合は何もしない
+   *
+   * @return 差し替えた場合は1
+   */
+  @Modifying
+  @Query("""
+      UPDATE companies SET password_digest = :passwordDigest
+      WHERE id = :id AND password_digest = :expectedPasswordDigest
+      """)
+  Mono<Integer> updatePasswordDigestById(Long id, String expectedPasswordDigest,
+      String passwordDigest);
+
   @NonNull
   Mono<Void> deleteByUuid(@NonNull UUID id);
 }
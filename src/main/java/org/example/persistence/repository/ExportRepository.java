@@ -0,0 +1,135 @@
+package org.example.persistence.repository;
+
+import io.r2dbc.spi.Readable;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.example.config.FetchSizeConfig;
+import org.example.persistence.dto.ExportFilter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.r2dbc.core.DatabaseClient.GenericExecuteSpec;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Flux;
+
+/**
+ * エクスポート用にテーブルの行をエンティティを介さずに読み出す
+ * 行はマッピング関数の中でしか参照できないため、呼び出し側が行ごとに直接エンコードする
+ * 全件を走査するため、fetch-size.tablesの行数ずつ購読側の要求に合わせて取得する
+ * テーブルの指定はfetch-size.default-sizeより優先する
+ */
+@Repository
+public class ExportRepository {
+
+  public record Column(String name, Class<?> type) {
+
+    /**
+     * @return CSVのヘッダー・JSONのキーに使う、APIのJSONと同じキャメルケースの列名
+     */
+    public String property() {
+      StringBuilder property = new StringBuilder(name.length());
+      for (int i = 0; i < name.length(); i++) {
+        char c = name.charAt(i);
+        if (c == '_' && i + 1 < name.length()) {
+          property.append(Character.toUpperCase(name.charAt(++i)));
+        } else {
+          property.append(c);
+        }
+      }
+      return property.toString();
+    }
+  }
+
+  public static final List<Column> OFFER_COLUMNS = List.of(
+      new Column("id", Object.class),
+      new Column("uuid", Object.class),
+      new Column("resume_uuid", Object.class),
+      new Column("company_uuid", Object.class),
+      new Column("company_name", String.class),
+      new Column("price", Object.class),
+      new Column("message", String.class),
+      new Column("status_id", Object.class),
+      new Column("created_at", Object.class),
+      new Column("updated_at", Object.class));
+
+  public static final List<Column> RESUME_COLUMNS = List.of(
+      new Column("id", Object.class),
+      new Column("uuid", Object.class),
+      new Column("applicant_uuid", Object.class),
+      new Column("education", String.class),
+      new Column("experience", String.class),
+      new Column("skills", String.class),
+      new Column("interests", String.class),
+      new Column("urls", String.class),
+      new Column("picture", String.class),
+      new Column("mint_status_id", Object.class),
+      new Column("minimum_price", Object.class),
+      new Column("expires_at", Object.class),
+      new Column("created_at", Object.class),
+      new Column("updated_at", Object.class));
+
+  private final DatabaseClient databaseClient;
+  private final FetchSizeConfig fetchSizeConfig;
+
+  public ExportRepository(DatabaseClient databaseClient, FetchSizeConfig fetchSizeConfig) {
+    this.databaseClient = databaseClient;
+    this.fetchSizeConfig = fetchSizeConfig;
+  }
+
+  /**
+   * オファーをID順に読み出す
+   *
+   * @param filter 絞り込み条件。statusIdはstatus_idに対応する
+   * @param mapper OFFER_COLUMNSの順に並んだ行を変換する関数
+   *
+   * @return 変換した行
+   */
+  public <T> Flux<T> exportOffers(ExportFilter filter, Function<Readable, T> mapper) {
+    return export("offers", "status_id", OFFER_COLUMNS, filter, mapper);
+  }
+
+  /**
+   * 履歴書をID順に読み出す
+   *
+   * @param filter 絞り込み条件。statusIdはmint_status_idに対応する
+   * @param mapper RESUME_COLUMNSの順に並んだ行を変換する関数
+   *
+   * @return 変換した行
+   */
+  public <T> Flux<T> exportResumes(ExportFilter filter, Function<Readable, T> mapper) {
+    return export("resumes", "mint_status_id", RESUME_COLUMNS, filter, mapper);
+  }
+
+  private <T> Flux<T> export(String table, String statusColumn, List<Column> columns,
+      ExportFilter filter, Function<Readable, T> mapper) {
+    StringBuilder sql = new StringBuilder("SELECT ")
+        .append(String.join(", ", columns.stream().map(Column::name).toList()))
+        .append(" FROM ").append(table).append(" WHERE 1 = 1");
+    if (Objects.nonNull(filter.getStatusId())) {
+      sql.append(" AND ").append(statusColumn).append(" = :statusId");
+    }
+    if (Objects.nonNull(filter.getFrom())) {
+      sql.append(" AND updated_at >= :from");
+    }
+    if (Objects.nonNull(filter.getTo())) {
+      sql.append(" AND updated_at < :to");
+    }
+    sql.append(" ORDER BY id");
+    int fetchSize = fetchSizeConfig.forTable(table);
+    DatabaseClient client = fetchSize > 0
+        ? databaseClient.mutate()
+            .executeFunction(statement -> statement.fetchSize(fetchSize).execute())
+            .build()
+        : databaseClient;
+    GenericExecuteSpec spec = client.sql(sql.toString());
+    if (Objects.nonNull(filter.getStatusId())) {
+      spec = spec.bind("statusId", filter.getStatusId());
+    }
+    if (Objects.nonNull(filter.getFrom())) {
+      spec = spec.bind("from", filter.getFrom());
+    }
+    if (Objects.nonNull(filter.getTo())) {
+      spec = spec.bind("to", filter.getTo());
+    }
+    return spec.map(mapper).all();
+  }
+}
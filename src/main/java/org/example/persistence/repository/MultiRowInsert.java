@@ -0,0 +1,90 @@
+package org.example.persistence.repository;
+
+import io.r2dbc.spi.Statement;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.BiConsumer;
+import java.util.function.Function;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * R2DBCのStatement#addで複数行のINSERTを1つのステートメントにまとめる
+ * 列ごとの値の取り出し方だけをエンティティごとに渡し、採番されたidは元のエンティティに書き戻す
+ *
+ * @param <T> エンティティ
+ */
+class MultiRowInsert<T> {
+
+  private final String sql;
+  private final BiConsumer<T, Long> idSetter;
+  private final List<Column<T>> columns = new ArrayList<>();
+
+  /**
+   * @param sql      $1から始まるプレースホルダーを列の順に並べたINSERT文
+   * @param idSetter 採番されたidをエンティティに設定する
+   */
+  MultiRowInsert(String sql, BiConsumer<T, Long> idSetter) {
+    this.sql = sql;
+    this.idSetter = idSetter;
+  }
+
+  /**
+   * 次のプレースホルダーに束縛する列を追加する
+   *
+   * @param getter エンティティから値を取り出す
+   * @param type   値がnullの場合に束縛する型
+   *
+   * @return this
+   */
+  MultiRowInsert<T> column(Function<T, ?> getter, Class<?> type) {
+    columns.add(new Column<>(getter, type));
+    return this;
+  }
+
+  /**
+   * 全ての行を1つのステートメントで登録する
+   *
+   * @param databaseClient DatabaseClient
+   * @param rows           登録する行
+   *
+   * @return idを設定した行。rowsと同じ順
+   */
+  Flux<T> insertAll(DatabaseClient databaseClient, List<T> rows) {
+    if (rows.isEmpty()) {
+      return Flux.empty();
+    }
+    return databaseClient.inConnectionMany(connection -> {
+      Statement statement = connection.createStatement(sql).returnGeneratedValues("id");
+      for (int i = 0; i < rows.size(); i++) {
+        if (i > 0) {
+          statement.add();
+        }
+        T row = rows.get(i);
+        for (int j = 0; j < columns.size(); j++) {
+          Column<T> column = columns.get(j);
+          bind(statement, j, column.getter().apply(row), column.type());
+        }
+      }
+      return Flux.from(statement.execute())
+          .concatMap(result -> result.map((row, metadata) -> row.get(0, Long.class)))
+          .zipWithIterable(rows, (id, row) -> {
+            idSetter.accept(row, id);
+            return row;
+          });
+    });
+  }
+
+  private static void bind(Statement statement, int index, Object value, Class<?> type) {
+    if (Objects.isNull(value)) {
+      statement.bindNull(index, type);
+    } else {
+      statement.bind(index, value);
+    }
+  }
+
+  private record Column<T>(Function<T, ?> getter, Class<?> type) {
+
+  }
+}
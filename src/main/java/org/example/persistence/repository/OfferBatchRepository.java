@@ -0,0 +1,17 @@
+package org.example.persistence.repository;
+
+import java.util.List;
+import org.example.persistence.entity.Offer;
+import reactor.core.publisher.Flux;
+
+public interface OfferBatchRepository {
+
+  /**
+   * オファーを1回の往復でまとめて登録する
+   *
+   * @param offers 登録するオファー
+   *
+   * @return IDを採番したオファー。引数と同じ順序
+   */
+  Flux<Offer> insertAll(List<Offer> offers);
+}
@@ -0,0 +1,47 @@
+package org.example.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.example.persistence.entity.Offer;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * R2DBCのStatement#addで複数行のINSERTを1つのステートメントにまとめる
+ */
+public class OfferBatchRepositoryImpl implements OfferBatchRepository {
+
+  private static final MultiRowInsert<Offer> INSERT = new MultiRowInsert<Offer>("""
+      INSERT INTO offers (uuid, resume_uuid, company_uuid, company_name, price, message,
+          status_id, created_at, updated_at)
+      VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9)
+      """, Offer::setId)
+      .column(Offer::getUuid, UUID.class)
+      .column(Offer::getResumeUuid, UUID.class)
+      .column(Offer::getCompanyUuid, UUID.class)
+      .column(Offer::getCompanyName, String.class)
+      .column(Offer::getPrice, Float.class)
+      .column(Offer::getMessage, String.class)
+      .column(Offer::getStatusId, Integer.class)
+      .column(Offer::getCreatedAt, LocalDateTime.class)
+      .column(Offer::getUpdatedAt, LocalDateTime.class);
+
+  private final DatabaseClient databaseClient;
+
+  public OfferBatchRepositoryImpl(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  @Override
+  public Flux<Offer> insertAll(List<Offer> offers) {
+    return Flux.defer(() -> {
+      LocalDateTime now = LocalDateTime.now();
+      offers.forEach(offer -> {
+        offer.setCreatedAt(now);
+        offer.setUpdatedAt(now);
+      });
+      return INSERT.insertAll(databaseClient, offers);
+    });
+  }
+}
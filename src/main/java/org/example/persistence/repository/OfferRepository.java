@@ -1,28 +1,103 @@
 package org.example.persistence.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 import lombok.NonNull;
 import org.example.persistence.entity.Offer;
+import org.springframework.data.domain.Pageable;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface OfferRepository extends ReactiveCrudRepository<Offer, String> {
+public interface OfferRepository extends ReactiveCrudRepository<Offer, String>,
+    OfferBatchRepository, OfferStatusRepository {
 
   @NonNull
   Flux<Offer> findAll(Sort sort);
 
+  @Query("SELECT * FROM offers ORDER BY updated_at DESC, id DESC LIMIT :limit")
+  Flux<Offer> findFirstPage(int limit);
+
+  @Query("""
+      SELECT * FROM offers
+      WHERE (updated_at, id) < (:updatedAt, :id)
+      ORDER BY updated_at DESC, id DESC
+      LIMIT :limit
+      """)
+  Flux<Offer> findPageAfter(LocalDateTime updatedAt, Long id, int limit);
+
   @NonNull
   Mono<Offer> findByUuid(@NonNull UUID id);
 
   Flux<Offer> findByResumeUuid(UUID resumeUuid);
 
+  Flux<Offer> findByResumeUuidOrderByStatusIdAscUpdatedAtAsc(UUID resumeUuid);
+
+  Flux<Offer> findByResumeUuidOrderByStatusIdAscUpdatedAtAsc(UUID resumeUuid,
+      Pageable pageable);
+
+  @Query("""
+      SELECT * FROM offers
+      WHERE resume_uuid = (SELECT target.resume_uuid FROM offers target WHERE target.uuid = :uuid)
+      ORDER BY id
+      FOR UPDATE
+      """)
+  Flux<Offer> findAndLockSiblingsByUuid(UUID uuid);
+
   @NonNull
   Mono<Offer> save(@NonNull Offer offer);
 
+  @Modifying
+  @Query("UPDATE offers SET status_id = :statusId, updated_at = :updatedAt WHERE uuid = :uuid")
+  Mono<Integer> updateStatusByUuid(UUID uuid, Integer statusId, LocalDateTime updatedAt);
+
+  @Modifying
+  @Query("""
+      UPDATE offers SET status_id = :statusId, updated_at = :updatedAt
+      WHERE resume_uuid IN (
+          SELECT uuid FROM resumes
+          WHERE uuid IN (:resumeUuids) AND mint_status_id = :resumeMintStatusId)
+        AND status_id = :expectedStatusId
+      """)
+  Mono<Integer> updateStatusByResumeUuidInAndStatusId(Collection<UUID> resumeUuids,
+      Integer resumeMintStatusId, Integer expectedStatusId, Integer statusId,
+      LocalDateTime updatedAt);
+
+  @Modifying
+  @Query("""
+      UPDATE offers SET company_name =
+          (SELECT companies.name FROM companies WHERE companies.uuid = offers.company_uuid)
+      WHERE company_uuid IN (:companyUuids)
+      """)
+  Mono<Integer> refreshCompanyNameByCompanyUuidIn(Collection<UUID> companyUuids);
+
+  @Modifying
+  @Query("""
+      UPDATE offers SET company_name =
+          (SELECT companies.name FROM companies WHERE companies.uuid = offers.company_uuid)
+      WHERE company_uuid IN (:companyUuids)
+        AND company_name IS DISTINCT FROM
+          (SELECT companies.name FROM companies WHERE companies.uuid = offers.company_uuid)
+      """)
+  Mono<Integer> refreshStaleCompanyNamesByCompanyUuidIn(Collection<UUID> companyUuids);
+
+  @Modifying
+  @Query("""
+      UPDATE offers SET status_id = :rejectedStatusId, updated_at = :updatedAt
+      WHERE resume_uuid = :resumeUuid
+        AND status_id = :pendingStatusId
+        AND uuid <> :offerUuid
+        AND price < (SELECT border.price FROM offers border WHERE border.uuid = :offerUuid)
+      """)
+  Mono<Integer> rejectCheaper(UUID resumeUuid, UUID offerUuid, Integer pendingStatusId,
+      Integer rejectedStatusId, LocalDateTime updatedAt);
+
   @NonNull
   Mono<Void> deleteByUuid(@NonNull UUID id);
 }
@@ -0,0 +1,22 @@
+package org.example.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.example.persistence.entity.Offer;
+import reactor.core.publisher.Mono;
+
+public interface OfferStatusRepository {
+
+  /**
+   * 現在のステータスがexpectedStatusIdの場合だけステータスを更新し、更新後の行を同じステートメントで返す
+   *
+   * @param uuid             オファーのUUID
+   * @param expectedStatusId 更新前に期待するステータス
+   * @param statusId         更新後のステータス
+   * @param updatedAt        更新日時
+   *
+   * @return 更新後のOffer。存在しない場合とステータスが異なる場合は空
+   */
+  Mono<Offer> updateStatusByUuidAndStatusId(UUID uuid, Integer expectedStatusId,
+      Integer statusId, LocalDateTime updatedAt);
+}
@@ -0,0 +1,42 @@
+package org.example.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.example.persistence.entity.Offer;
+import org.springframework.data.r2dbc.convert.R2dbcConverter;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Mono;
+
+/**
+ * 更新した行をUPDATEと同じステートメントで読み返す
+ * PostgreSQLはRETURNING、H2はRETURNINGに対応していないためFINAL TABLEを使う
+ */
+public class OfferStatusRepositoryImpl implements OfferStatusRepository {
+
+  private static final String UPDATE = """
+      UPDATE offers SET status_id = :statusId, updated_at = :updatedAt
+      WHERE uuid = :uuid AND status_id = :expectedStatusId""";
+
+  private final DatabaseClient databaseClient;
+  private final R2dbcConverter r2dbcConverter;
+
+  public OfferStatusRepositoryImpl(DatabaseClient databaseClient, R2dbcConverter r2dbcConverter) {
+    this.databaseClient = databaseClient;
+    this.r2dbcConverter = r2dbcConverter;
+  }
+
+  @Override
+  public Mono<Offer> updateStatusByUuidAndStatusId(UUID uuid, Integer expectedStatusId,
+      Integer statusId, LocalDateTime updatedAt) {
+    String sql = "H2".equals(databaseClient.getConnectionFactory().getMetadata().getName())
+        ? "SELECT * FROM FINAL TABLE (" + UPDATE + ")"
+        : UPDATE + " RETURNING *";
+    return databaseClient.sql(sql)
+        .bind("uuid", uuid)
+        .bind("expectedStatusId", expectedStatusId)
+        .bind("statusId", statusId)
+        .bind("updatedAt", updatedAt)
+        .map((row, metadata) -> r2dbcConverter.read(Offer.class, row, metadata))
+        .one();
+  }
+}
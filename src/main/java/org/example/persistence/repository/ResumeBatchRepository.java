@@ -0,0 +1,17 @@
+package org.example.persistence.repository;
+
+import java.util.List;
+import org.example.persistence.entity.Resume;
+import reactor.core.publisher.Flux;
+
+public interface ResumeBatchRepository {
+
+  /**
+   * 履歴書を1回の往復でまとめて登録する
+   *
+   * @param resumes 登録する履歴書
+   *
+   * @return IDを採番した履歴書。引数と同じ順序
+   */
+  Flux<Resume> insertAll(List<Resume> resumes);
+}
@@ -0,0 +1,50 @@
+package org.example.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.List;
+import java.util.UUID;
+import org.example.persistence.entity.Resume;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+
+/**
+ * R2DBCのStatement#addで複数行のINSERTを1つのステートメントにまとめる
+ */
+public class ResumeBatchRepositoryImpl implements ResumeBatchRepository {
+
+  private static final MultiRowInsert<Resume> INSERT = new MultiRowInsert<Resume>("""
+      INSERT INTO resumes (uuid, applicant_uuid, education, experience, skills, interests, urls,
+          picture, mint_status_id, minimum_price, created_at, updated_at)
+      VALUES ($1, $2, $3, $4, $5, $6, $7, $8, $9, $10, $11, $12)
+      """, Resume::setId)
+      .column(Resume::getUuid, UUID.class)
+      .column(Resume::getApplicantUuid, UUID.class)
+      .column(Resume::getEducation, String.class)
+      .column(Resume::getExperience, String.class)
+      .column(Resume::getSkills, String.class)
+      .column(Resume::getInterests, String.class)
+      .column(Resume::getUrls, String.class)
+      .column(Resume::getPicture, String.class)
+      .column(Resume::getMintStatusId, Integer.class)
+      .column(Resume::getMinimumPrice, Float.class)
+      .column(Resume::getCreatedAt, LocalDateTime.class)
+      .column(Resume::getUpdatedAt, LocalDateTime.class);
+
+  private final DatabaseClient databaseClient;
+
+  public ResumeBatchRepositoryImpl(DatabaseClient databaseClient) {
+    this.databaseClient = databaseClient;
+  }
+
+  @Override
+  public Flux<Resume> insertAll(List<Resume> resumes) {
+    return Flux.defer(() -> {
+      LocalDateTime now = LocalDateTime.now();
+      resumes.forEach(resume -> {
+        resume.setCreatedAt(now);
+        resume.setUpdatedAt(now);
+      });
+      return INSERT.insertAll(databaseClient, resumes);
+    });
+  }
+}
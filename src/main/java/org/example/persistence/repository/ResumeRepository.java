@@ -1,20 +1,36 @@
 package org.example.persistence.repository;
 
+import java.time.LocalDateTime;
+import java.util.Collection;
 import java.util.UUID;
 import lombok.NonNull;
 import org.example.persistence.entity.Resume;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
 import org.springframework.data.repository.reactive.ReactiveCrudRepository;
 import org.springframework.stereotype.Repository;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @Repository
-public interface ResumeRepository extends ReactiveCrudRepository<Resume, String> {
+public interface ResumeRepository extends ReactiveCrudRepository<Resume, String>,
+    ResumeBatchRepository {
 
   @NonNull
   Flux<Resume> findAll(Sort sort);
 
+  @Query("SELECT * FROM resumes ORDER BY updated_at DESC, id DESC LIMIT :limit")
+  Flux<Resume> findFirstPage(int limit);
+
+  @Query("""
+      SELECT * FROM resumes
+      WHERE (updated_at, id) < (:updatedAt, :id)
+      ORDER BY updated_at DESC, id DESC
+      LIMIT :limit
+      """)
+  Flux<Resume> findPageAfter(LocalDateTime updatedAt, Long id, int limit);
+
   @NonNull
   Mono<Resume> findByUuid(UUID uuid);
 
@@ -22,9 +38,27 @@ public interface ResumeRepository extends ReactiveCrudRepository<Resume, String>
 
   Flux<Resume> findByApplicantUuid(UUID applicantUuid);
 
+  Flux<Resume> findByUuidIn(Collection<UUID> uuids);
+
+  @Query("""
+      SELECT uuid FROM resumes
+      WHERE mint_status_id = :mintStatusId AND expires_at <= :now
+      ORDER BY expires_at
+      LIMIT :limit
+      """)
+  Flux<UUID> findDueUuids(Integer mintStatusId, LocalDateTime now, int limit);
+
   @NonNull
   Mono<Resume> save(@NonNull Resume resume);
 
+  @Modifying
+  @Query("""
+      UPDATE resumes SET mint_status_id = :mintStatusId, updated_at = :updatedAt
+      WHERE uuid IN (:uuids) AND mint_status_id = :expectedMintStatusId
+      """)
+  Mono<Integer> updateMintStatusByUuidInAndMintStatusId(Collection<UUID> uuids,
+      Integer expectedMintStatusId, Integer mintStatusId, LocalDateTime updatedAt);
+
   @NonNull
   Mono<Void> deleteByUuid(@NonNull UUID id);
 }
@@ -0,0 +1,26 @@
+package org.example.persistence.repository;
+
+import java.time.LocalDateTime;
+import org.example.persistence.entity.SchedulerLease;
+import org.springframework.data.r2dbc.repository.Modifying;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.data.repository.reactive.ReactiveCrudRepository;
+import org.springframework.stereotype.Repository;
+import reactor.core.publisher.Mono;
+
+@Repository
+public interface SchedulerLeaseRepository extends ReactiveCrudRepository<SchedulerLease, String> {
+
+  /**
+   * リースを取得または延長する
+   * 自分が保持しているか、期限切れの場合だけ更新できる
+   *
+   * @return 取得できた場合は1
+   */
+  @Modifying
+  @Query("""
+      UPDATE scheduler_leases SET owner = :owner, expires_at = :expiresAt
+      WHERE name = :name AND (owner = :owner OR expires_at < :now)
+      """)
+  Mono<Integer> acquire(String name, String owner, LocalDateTime now, LocalDateTime expiresAt);
+}
@@ -1,13 +1,15 @@
 package org.example.service;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
 import org.example.error.exception.NotFoundException;
 import org.example.error.exception.PasswordAuthenticationException;
+import org.example.error.exception.TooManyRequestsException;
+import org.example.persistence.dto.Cursor;
 import org.example.persistence.entity.Applicant;
 import org.example.persistence.repository.ApplicantRepository;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -16,18 +18,36 @@ import reactor.core.publisher.Mono;
 public class ApplicantService {
 
   private final ApplicantRepository applicantRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
+  private final LoginRateLimitService loginRateLimitService;
 
   public ApplicantService(ApplicantRepository applicantRepository,
-      PasswordEncoder passwordEncoder) {
+      PasswordHashingService passwordHashingService,
+      LoginRateLimitService loginRateLimitService) {
     this.applicantRepository = applicantRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.passwordHashingService = passwordHashingService;
+    this.loginRateLimitService = loginRateLimitService;
   }
 
   public Flux<Applicant> findAll() {
     return applicantRepository.findAll(Sort.by(Sort.Direction.DESC, "updatedAt"));
   }
 
+  /**
+   * 更新日時の降順で1ページ分を取得する
+   *
+   * @param cursor 直前のページの最後の行。先頭ページの場合はnull
+   * @param limit  1ページの件数
+   *
+   * @return 1ページ分のApplicant
+   */
+  public Flux<Applicant> findPage(Cursor cursor, int limit) {
+    if (Objects.isNull(cursor)) {
+      return applicantRepository.findFirstPage(limit);
+    }
+    return applicantRepository.findPageAfter(cursor.getUpdatedAt(), cursor.getId(), limit);
+  }
+
   public Mono<Applicant> findByUuid(UUID id) {
     return applicantRepository.findByUuid(id);
   }
@@ -37,8 +57,11 @@ public class ApplicantService {
   }
 
   public Mono<Applicant> save(Applicant applicant, String password) {
-    applicant.setPasswordDigest(passwordEncoder.encode(password));
-    return applicantRepository.save(applicant);
+    return passwordHashingService.encode(password)
+        .flatMap(digest -> {
+          applicant.setPasswordDigest(digest);
+          return applicantRepository.save(applicant);
+        });
   }
 
   public Mono<Applicant> update(Applicant applicant) {
@@ -61,10 +84,39 @@ public class ApplicantService {
   }
 
   public Mono<Applicant> login(String email, String password) {
+    if (loginRateLimitService.exceededByEmail("applicant", email)) {
+      return Mono.error(new TooManyRequestsException("Too many login attempts."));
+    }
     return applicantRepository.findByEmail(email)
-        .filter(present -> passwordEncoder.matches(password, present.getPasswordDigest()))
+        .filterWhen(present ->
+            passwordHashingService.matches(password, present.getPasswordDigest()))
         .switchIfEmpty(
-            Mono.error(new PasswordAuthenticationException("Invalid email or password.")));
+            Mono.error(new PasswordAuthenticationException("Invalid email or password.")))
+        .flatMap(present -> rehash(present, password));
+  }
+
+  /**
+   * 保存しているハッシュ値が現在のアルゴリズムやコストより弱い場合に、ログインで受け取った
+   * パスワードでハッシュ化し直す
+   * 再ハッシュに失敗してもログインは成功させ、次のログインで改めて試す
+   *
+   * @param applicant 照合済みのApplicant
+   * @param password  平文のパスワード
+   *
+   * @return Applicant
+   */
+  private Mono<Applicant> rehash(Applicant applicant, String password) {
+    String current = applicant.getPasswordDigest();
+    if (!passwordHashingService.needsRehash(current)) {
+      return Mono.just(applicant);
+    }
+    return passwordHashingService.encode(password)
+        .flatMap(digest -> applicantRepository
+            .updatePasswordDigestById(applicant.getId(), current, digest)
+            .filter(updated -> updated > 0)
+            .doOnNext(updated -> applicant.setPasswordDigest(digest)))
+        .onErrorResume(e -> Mono.empty())
+        .thenReturn(applicant);
   }
 
   public Mono<Void> deleteById(UUID id) {
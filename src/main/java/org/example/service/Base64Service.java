@@ -1,5 +1,6 @@
 package org.example.service;
 
+import java.nio.charset.StandardCharsets;
 import java.util.Base64;
 import org.springframework.stereotype.Service;
 
@@ -15,10 +16,10 @@ public class Base64Service {
   }
 
   public String encode(String raw) {
-    return encoder.encodeToString(raw.getBytes());
+    return encoder.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
   }
 
   public String decode(String encoded) {
-    return new String(decoder.decode(encoded));
+    return new String(decoder.decode(encoded), StandardCharsets.UTF_8);
   }
 }
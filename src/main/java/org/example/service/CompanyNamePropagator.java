@@ -0,0 +1,107 @@
+package org.example.service;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Objects;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.CompanyNamePropagationConfig;
+import org.example.persistence.repository.CompanyRepository;
+import org.example.persistence.repository.OfferRepository;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * 社名の変更をoffers.company_nameへまとめて反映する
+ * 反映時にcompaniesから最新の社名を読むため、同じ企業が何度変更されても1回のUPDATEで追いつく
+ * 反映待ちはメモリにしか持たないため、再起動で失われた分はreconcile-on-startupを有効にすると
+ * 起動時に社名が食い違うオファーを企業ごとにbatch-size件ずつ直して取り戻す
+ */
+@Slf4j
+@Service
+public class CompanyNamePropagator {
+
+  private final OfferRepository offerRepository;
+  private final CompanyRepository companyRepository;
+  private final CompanyNamePropagationConfig companyNamePropagationConfig;
+  private final Set<UUID> pending = ConcurrentHashMap.newKeySet();
+
+  public CompanyNamePropagator(OfferRepository offerRepository,
+      CompanyRepository companyRepository,
+      CompanyNamePropagationConfig companyNamePropagationConfig) {
+    this.offerRepository = offerRepository;
+    this.companyRepository = companyRepository;
+    this.companyNamePropagationConfig = companyNamePropagationConfig;
+  }
+
+  /**
+   * 社名を変更した企業を反映待ちに積む
+   *
+   * @param companyUuid 企業のUUID
+   */
+  public void enqueue(UUID companyUuid) {
+    if (!companyNamePropagationConfig.isEnabled()) {
+      return;
+    }
+    pending.add(companyUuid);
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void reconcileOnStartup() {
+    if (!companyNamePropagationConfig.isEnabled()
+        || !companyNamePropagationConfig.isReconcileOnStartup()) {
+      return;
+    }
+    reconcile().subscribe(
+        updated -> log.info("起動時に社名を反映したオファー: {}件", updated),
+        e -> log.warn("起動時に社名を反映できませんでした。 {}", e.getMessage()));
+  }
+
+  /**
+   * 社名がcompaniesと食い違うオファーを企業batch-size件ずつ全て反映する
+   *
+   * @return 更新したオファーの件数
+   */
+  public Mono<Integer> reconcile() {
+    return companyRepository.findAllUuids()
+        .buffer(companyNamePropagationConfig.getBatchSize())
+        .concatMap(offerRepository::refreshStaleCompanyNamesByCompanyUuidIn)
+        .reduce(0, Integer::sum);
+  }
+
+  @Scheduled(fixedDelayString = "${company.name-propagation.interval:PT5S}")
+  public void run() {
+    if (!companyNamePropagationConfig.isEnabled()) {
+      return;
+    }
+    Integer updated = flush().block();
+    if (Objects.nonNull(updated) && updated > 0) {
+      log.info("社名を反映したオファー: {}件", updated);
+    }
+  }
+
+  /**
+   * 反映待ちの企業をbatch-size件ずつ反映する
+   * 失敗したバッチは反映待ちに戻し、次回に再試行する
+   *
+   * @return 更新したオファーの件数
+   */
+  public Mono<Integer> flush() {
+    if (pending.isEmpty()) {
+      return Mono.just(0);
+    }
+    List<UUID> drained = new ArrayList<>(pending);
+    pending.removeAll(drained);
+    return Flux.fromIterable(drained)
+        .buffer(companyNamePropagationConfig.getBatchSize())
+        .concatMap(batch -> offerRepository.refreshCompanyNameByCompanyUuidIn(batch)
+            .doOnError(e -> pending.addAll(batch)))
+        .reduce(0, Integer::sum);
+  }
+}
@@ -1,13 +1,15 @@
 package org.example.service;
 
 import java.time.LocalDateTime;
+import java.util.Objects;
 import java.util.UUID;
 import org.example.error.exception.NotFoundException;
 import org.example.error.exception.PasswordAuthenticationException;
+import org.example.error.exception.TooManyRequestsException;
+import org.example.persistence.dto.Cursor;
 import org.example.persistence.entity.Company;
 import org.example.persistence.repository.CompanyRepository;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.stereotype.Service;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -16,18 +18,39 @@ import reactor.core.publisher.Mono;
 public class CompanyService {
 
   private final CompanyRepository companyRepository;
-  private final PasswordEncoder passwordEncoder;
+  private final PasswordHashingService passwordHashingService;
+  private final LoginRateLimitService loginRateLimitService;
+  private final CompanyNamePropagator companyNamePropagator;
 
   public CompanyService(CompanyRepository companyRepository,
-      PasswordEncoder passwordEncoder) {
+      PasswordHashingService passwordHashingService,
+      LoginRateLimitService loginRateLimitService,
+      CompanyNamePropagator companyNamePropagator) {
     this.companyRepository = companyRepository;
-    this.passwordEncoder = passwordEncoder;
+    this.passwordHashingService = passwordHashingService;
+    this.loginRateLimitService = loginRateLimitService;
+    this.companyNamePropagator = companyNamePropagator;
   }
 
   public Flux<Company> findAll() {
     return companyRepository.findAll(Sort.by(Sort.Direction.DESC, "updatedAt"));
   }
 
+  /**
+   * 更新日時の降順で1ページ分を取得する
+   *
+   * @param cursor 直前のページの最後の行。先頭ページの場合はnull
+   * @param limit  1ページの件数
+   *
+   * @return 1ページ分のCompany
+   */
+  public Flux<Company> findPage(Cursor cursor, int limit) {
+    if (Objects.isNull(cursor)) {
+      return companyRepository.findFirstPage(limit);
+    }
+    return companyRepository.findPageAfter(cursor.getUpdatedAt(), cursor.getId(), limit);
+  }
+
   public Mono<Company> findByUuid(UUID id) {
     return companyRepository.findByUuid(id);
   }
@@ -37,33 +60,69 @@ public class CompanyService {
   }
 
   public Mono<Company> save(Company company, String password) {
-    company.setPasswordDigest(passwordEncoder.encode(password));
-    return companyRepository.save(company);
+    return passwordHashingService.encode(password)
+        .flatMap(digest -> {
+          company.setPasswordDigest(digest);
+          return companyRepository.save(company);
+        });
   }
 
   public Mono<Company> update(Company company) {
     return companyRepository.findByUuid(company.getUuid())
         .switchIfEmpty(Mono.error(new NotFoundException("Company not found.")))
-        .map(old -> Company.builder()
-            .id(old.getId())
-            .uuid(old.getUuid())
-            .name(company.getName())
-            .email(company.getEmail())
-            .phone(company.getPhone())
-            .address(company.getAddress())
-            .createdAt(old.getCreatedAt())
-            .updatedAt(LocalDateTime.now())
-            .version(old.getVersion() + 1)
-            .passwordDigest(old.getPasswordDigest())
-            .build())
-        .flatMap(companyRepository::save);
+        .flatMap(old -> companyRepository.save(Company.builder()
+                .id(old.getId())
+                .uuid(old.getUuid())
+                .name(company.getName())
+                .email(company.getEmail())
+                .phone(company.getPhone())
+                .address(company.getAddress())
+                .createdAt(old.getCreatedAt())
+                .updatedAt(LocalDateTime.now())
+                .version(old.getVersion() + 1)
+                .passwordDigest(old.getPasswordDigest())
+                .build())
+            .doOnNext(updated -> {
+              if (!Objects.equals(old.getName(), updated.getName())) {
+                companyNamePropagator.enqueue(updated.getUuid());
+              }
+            }));
   }
 
   public Mono<Company> login(String email, String password) {
+    if (loginRateLimitService.exceededByEmail("company", email)) {
+      return Mono.error(new TooManyRequestsException("Too many login attempts."));
+    }
     return companyRepository.findByEmail(email)
-        .filter(present -> passwordEncoder.matches(password, present.getPasswordDigest()))
+        .filterWhen(present ->
+            passwordHashingService.matches(password, present.getPasswordDigest()))
         .switchIfEmpty(
-            Mono.error(new PasswordAuthenticationException("Invalid email or password.")));
+            Mono.error(new PasswordAuthenticationException("Invalid email or password.")))
+        .flatMap(present -> rehash(present, password));
+  }
+
+  /**
+   * 保存しているハッシュ値が現在のアルゴリズムやコストより弱い場合に、ログインで受け取った
+   * パスワードでハッシュ化し直す
+   * 再ハッシュに失敗してもログインは成功させ、次のログインで改めて試す
+   *
+   * @param company  照合済みのCompany
+   * @param password 平文のパスワード
+   *
+   * @return Company
+   */
+  private Mono<Company> rehash(Company company, String password) {
+    String current = company.getPasswordDigest();
+    if (!passwordHashingService.needsRehash(current)) {
+      return Mono.just(company);
+    }
+    return passwordHashingService.encode(password)
+        .flatMap(digest -> companyRepository
+            .updatePasswordDigestById(company.getId(), current, digest)
+            .filter(updated -> updated > 0)
+            .doOnNext(updated -> company.setPasswordDigest(digest)))
+        .onErrorResume(e -> Mono.empty())
+        .thenReturn(company);
   }
 
   public Mono<Void> deleteById(UUID id) {
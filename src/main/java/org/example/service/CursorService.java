@@ -0,0 +1,99 @@
+package org.example.service;
+
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
+import java.util.Base64;
+import java.util.List;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.function.Function;
+import org.example.config.PaginationConfig;
+import org.example.error.exception.BadRequestException;
+import org.example.persistence.dto.Cursor;
+import org.springframework.stereotype.Service;
+
+@Service
+public class CursorService {
+
+  private static final String SEPARATOR = "_";
+
+  private final PaginationConfig paginationConfig;
+  private final Base64.Encoder encoder;
+  private final Base64.Decoder decoder;
+
+  public CursorService(PaginationConfig paginationConfig) {
+    this.paginationConfig = paginationConfig;
+    encoder = Base64.getUrlEncoder().withoutPadding();
+    decoder = Base64.getUrlDecoder();
+  }
+
+  public String encode(Cursor cursor) {
+    String raw = cursor.getUpdatedAt().toString() + SEPARATOR + cursor.getId();
+    return encoder.encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+  }
+
+  /**
+   * クエリパラメータのカーソルを復元する
+   *
+   * @param token encodeで発行したカーソル。先頭ページの場合はnull
+   *
+   * @return カーソル。先頭ページの場合はnull
+   */
+  public Cursor decode(String token) {
+    if (Objects.isNull(token) || token.isBlank()) {
+      return null;
+    }
+    try {
+      String raw = new String(decoder.decode(token), StandardCharsets.UTF_8);
+      int index = raw.lastIndexOf(SEPARATOR);
+      return new Cursor(LocalDateTime.parse(raw.substring(0, index)),
+          Long.parseLong(raw.substring(index + 1)));
+    } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+      throw new BadRequestException("Invalid cursor.");
+    }
+  }
+
+  /**
+   * 1ページの件数を決める
+   *
+   * @param requested クエリパラメータのlimit
+   *
+   * @return 1以上pagination.max-limit以下の件数
+   */
+  public int limit(Integer requested) {
+    if (Objects.isNull(requested)) {
+      return paginationConfig.getDefaultLimit();
+    }
+    return Math.max(1, Math.min(requested, paginationConfig.getMaxLimit()));
+  }
+
+  /**
+   * ストリームで全件を流すときに1回のクエリで読む件数
+   *
+   * @return pagination.max-limit
+   */
+  public int streamLimit() {
+    return paginationConfig.getMaxLimit();
+  }
+
+  /**
+   * 次のページのカーソルを返す
+   * ページが埋まっていない場合は最後のページとみなす
+   *
+   * @param page      取得したページ
+   * @param limit     1ページの件数
+   * @param updatedAt 行の更新日時
+   * @param id        行のID
+   *
+   * @return 次のページのカーソル
+   */
+  public <T> Optional<String> next(List<T> page, int limit,
+      Function<T, LocalDateTime> updatedAt, Function<T, Long> id) {
+    if (page.size() < limit) {
+      return Optional.empty();
+    }
+    T last = page.get(page.size() - 1);
+    return Optional.of(encode(new Cursor(updatedAt.apply(last), id.apply(last))));
+  }
+}
@@ -0,0 +1,173 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonFactory;
+import com.fasterxml.jackson.core.JsonGenerator;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Readable;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.math.BigDecimal;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.List;
+import java.util.Objects;
+import java.util.function.Function;
+import org.example.constant.ExportFormat;
+import org.example.error.exception.BadRequestException;
+import org.example.persistence.dto.ExportFilter;
+import org.example.persistence.repository.ExportRepository;
+import org.example.persistence.repository.ExportRepository.Column;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferFactory;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * オファー・履歴書をCSV・NDJSONでエクスポートする
+ * 読み出した行をエンティティやレスポンスに詰め替えず、DataBufferへ直接書き込む
+ * 列名はAPIのJSON・履歴書の取込と同じキャメルケースで出力する
+ */
+@Service
+public class ExportService {
+
+  private static final DateTimeFormatter FORMATTER =
+      DateTimeFormatter.ofPattern("yyyy-MM-dd HH:mm:ss");
+  private static final int INITIAL_CAPACITY = 256;
+
+  private final ExportRepository exportRepository;
+  private final JsonFactory jsonFactory;
+
+  public ExportService(ExportRepository exportRepository, ObjectMapper objectMapper) {
+    this.exportRepository = exportRepository;
+    this.jsonFactory = objectMapper.getFactory();
+  }
+
+  /**
+   * オファーをエクスポートする
+   *
+   * @param filter  絞り込み条件
+   * @param format  出力形式
+   * @param factory レスポンスのDataBufferFactory
+   *
+   * @return 1行ごとのDataBuffer。CSVの場合は先頭がヘッダー行
+   */
+  public Flux<DataBuffer> exportOffers(ExportFilter filter, ExportFormat format,
+      DataBufferFactory factory) {
+    return export(filter, format, factory, ExportRepository.OFFER_COLUMNS,
+        encoder -> exportRepository.exportOffers(filter, encoder));
+  }
+
+  /**
+   * 履歴書をエクスポートする
+   *
+   * @param filter  絞り込み条件
+   * @param format  出力形式
+   * @param factory レスポンスのDataBufferFactory
+   *
+   * @return 1行ごとのDataBuffer。CSVの場合は先頭がヘッダー行
+   */
+  public Flux<DataBuffer> exportResumes(ExportFilter filter, ExportFormat format,
+      DataBufferFactory factory) {
+    return export(filter, format, factory, ExportRepository.RESUME_COLUMNS,
+        encoder -> exportRepository.exportResumes(filter, encoder));
+  }
+
+  private Flux<DataBuffer> export(ExportFilter filter, ExportFormat format,
+      DataBufferFactory factory, List<Column> columns,
+      Function<Function<Readable, DataBuffer>, Flux<DataBuffer>> query) {
+    if (Objects.nonNull(filter.getFrom()) && Objects.nonNull(filter.getTo())
+        && !filter.getFrom().isBefore(filter.getTo())) {
+      return Flux.error(new BadRequestException("from must be before to."));
+    }
+    if (format == ExportFormat.CSV) {
+      return Mono.fromSupplier(() -> csvHeader(columns, factory))
+          .concatWith(query.apply(row -> csvRow(row, columns, factory)));
+    }
+    return query.apply(row -> jsonRow(row, columns, factory));
+  }
+
+  private static DataBuffer csvHeader(List<Column> columns, DataBufferFactory factory) {
+    DataBuffer buffer = factory.allocateBuffer(INITIAL_CAPACITY);
+    for (int i = 0; i < columns.size(); i++) {
+      if (i > 0) {
+        buffer.write((byte) ',');
+      }
+      buffer.write(columns.get(i).property(), StandardCharsets.UTF_8);
+    }
+    return buffer.write((byte) '\n');
+  }
+
+  private static DataBuffer csvRow(Readable row, List<Column> columns,
+      DataBufferFactory factory) {
+    DataBuffer buffer = factory.allocateBuffer(INITIAL_CAPACITY);
+    try {
+      for (int i = 0; i < columns.size(); i++) {
+        if (i > 0) {
+          buffer.write((byte) ',');
+        }
+        Object value = row.get(i, columns.get(i).type());
+        if (Objects.isNull(value)) {
+          continue;
+        }
+        String text = format(value);
+        if (text.indexOf(',') < 0 && text.indexOf('"') < 0
+            && text.indexOf('\n') < 0 && text.indexOf('\r') < 0) {
+          buffer.write(text, StandardCharsets.UTF_8);
+        } else {
+          buffer.write((byte) '"');
+          buffer.write(text.replace("\"", "\"\""), StandardCharsets.UTF_8);
+          buffer.write((byte) '"');
+        }
+      }
+      return buffer.write((byte) '\n');
+    } catch (RuntimeException e) {
+      DataBufferUtils.release(buffer);
+      throw e;
+    }
+  }
+
+  private DataBuffer jsonRow(Readable row, List<Column> columns, DataBufferFactory factory) {
+    DataBuffer buffer = factory.allocateBuffer(INITIAL_CAPACITY);
+    try (JsonGenerator generator = jsonFactory.createGenerator(buffer.asOutputStream())) {
+      generator.writeStartObject();
+      for (int i = 0; i < columns.size(); i++) {
+        generator.writeFieldName(columns.get(i).property());
+        Object value = row.get(i, columns.get(i).type());
+        if (Objects.isNull(value)) {
+          generator.writeNull();
+        } else if (value instanceof Integer number) {
+          generator.writeNumber(number);
+        } else if (value instanceof Long number) {
+          generator.writeNumber(number);
+        } else if (value instanceof Float number) {
+          generator.writeNumber(number);
+        } else if (value instanceof Double number) {
+          generator.writeNumber(number);
+        } else if (value instanceof BigDecimal number) {
+          generator.writeNumber(number);
+        } else {
+          generator.writeString(format(value));
+        }
+      }
+      generator.writeEndObject();
+      generator.writeRaw('\n');
+    } catch (IOException e) {
+      DataBufferUtils.release(buffer);
+      throw new UncheckedIOException(e);
+    } catch (RuntimeException e) {
+      DataBufferUtils.release(buffer);
+      throw e;
+    }
+    return buffer;
+  }
+
+  private static String format(Object value) {
+    if (value instanceof LocalDateTime dateTime) {
+      return FORMATTER.format(dateTime);
+    }
+    return value.toString();
+  }
+}
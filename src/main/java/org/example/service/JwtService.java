@@ -1,11 +1,16 @@
 package org.example.service;
 
 import com.auth0.jwt.JWT;
+import com.auth0.jwt.JWTCreator;
+import com.auth0.jwt.JWTVerifier;
 import com.auth0.jwt.algorithms.Algorithm;
 import com.auth0.jwt.exceptions.SignatureVerificationException;
 import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import java.util.Date;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
 import java.util.UUID;
 import org.example.config.JwtConfig;
 import org.example.persistence.entity.Applicant;
@@ -15,18 +20,37 @@ import org.springframework.stereotype.Service;
 @Service
 public class JwtService {
 
+  private static final String ISSUER = "org.example";
+
   private final JwtConfig jwtConfig;
+  /** 署名用のアルゴリズム。スレッドセーフなので使い回す */
+  private final Algorithm signingAlgorithm;
+  /** kidヘッダがない、または未知のkidの場合に使う検証器 */
+  private final JWTVerifier activeVerifier;
+  /** kid -> 検証器 */
+  private final Map<String, JWTVerifier> verifiers;
 
   public JwtService(JwtConfig jwtConfig) {
     this.jwtConfig = jwtConfig;
+    this.signingAlgorithm = Algorithm.HMAC256(jwtConfig.getSecretKey());
+    this.activeVerifier = buildVerifier(signingAlgorithm);
+    Map<String, JWTVerifier> map = new HashMap<>();
+    if (Objects.nonNull(jwtConfig.getRetiredKeys())) {
+      jwtConfig.getRetiredKeys()
+          .forEach((kid, secret) -> map.put(kid, buildVerifier(Algorithm.HMAC256(secret))));
+    }
+    if (Objects.nonNull(jwtConfig.getKeyId())) {
+      map.put(jwtConfig.getKeyId(), activeVerifier);
+    }
+    this.verifiers = Map.copyOf(map);
   }
 
   public String encodeApplicant(Applicant applicant) {
     Date now = new Date();
-    return JWT.create()
+    return newBuilder()
         .withJWTId(UUID.randomUUID().toString())
-        .withIssuer("org.example")
-        .withAudience("org.example")
+        .withIssuer(ISSUER)
+        .withAudience(ISSUER)
         .withSubject(applicant.getUuid().toString())
         .withClaim("firstName", applicant.getFirstName())
         .withClaim("lastName", applicant.getLastName())
@@ -36,15 +60,15 @@ public class JwtService {
         .withIssuedAt(now)
         .withNotBefore(now)
         .withExpiresAt(new Date(now.getTime() + jwtConfig.getTtl()))
-        .sign(Algorithm.HMAC256(jwtConfig.getSecretKey()));
+        .sign(signingAlgorithm);
   }
 
   public String encodeCompany(Company company) {
     Date now = new Date();
-    return JWT.create()
+    return newBuilder()
         .withJWTId(UUID.randomUUID().toString())
-        .withIssuer("org.example")
-        .withAudience("org.example")
+        .withIssuer(ISSUER)
+        .withAudience(ISSUER)
         .withSubject(company.getUuid().toString())
         .withClaim("name", company.getName())
         .withClaim("email", company.getEmail())
@@ -53,13 +77,15 @@ public class JwtService {
         .withIssuedAt(now)
         .withNotBefore(now)
         .withExpiresAt(new Date(now.getTime() + jwtConfig.getTtl()))
-        .sign(Algorithm.HMAC256(jwtConfig.getSecretKey()));
+        .sign(signingAlgorithm);
   }
 
   public Applicant decodeApplicant(String jwt)
       throws TokenExpiredException, SignatureVerificationException, IllegalArgumentException {
-    DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC256(jwtConfig.getSecretKey())).build()
-        .verify(jwt);
+    return toApplicant(verify(jwt));
+  }
+
+  public Applicant toApplicant(DecodedJWT decodedJWT) {
     return Applicant.builder()
         .uuid(UUID.fromString(decodedJWT.getSubject()))
         .firstName(decodedJWT.getClaim("firstName").asString())
@@ -72,8 +98,10 @@ public class JwtService {
 
   public Company decodeCompany(String jwt)
       throws TokenExpiredException, SignatureVerificationException, IllegalArgumentException {
-    DecodedJWT decodedJWT = JWT.require(Algorithm.HMAC256(jwtConfig.getSecretKey())).build()
-        .verify(jwt);
+    return toCompany(verify(jwt));
+  }
+
+  public Company toCompany(DecodedJWT decodedJWT) {
     return Company.builder()
         .uuid(UUID.fromString(decodedJWT.getSubject()))
         .name(decodedJWT.getClaim("name").asString())
@@ -82,4 +110,33 @@ public class JwtService {
         .address(decodedJWT.getClaim("address").asString())
         .build();
   }
+
+  /**
+   * kidヘッダに対応する検証器で署名と有効期限を検証する
+   *
+   * @param jwt JWT文字列
+   *
+   * @return 検証済みのJWT
+   */
+  public DecodedJWT verify(String jwt)
+      throws TokenExpiredException, SignatureVerificationException, IllegalArgumentException {
+    DecodedJWT decodedJWT = JWT.decode(jwt);
+    String keyId = decodedJWT.getKeyId();
+    JWTVerifier verifier = Objects.isNull(keyId)
+        ? activeVerifier
+        : verifiers.getOrDefault(keyId, activeVerifier);
+    return verifier.verify(decodedJWT);
+  }
+
+  private JWTCreator.Builder newBuilder() {
+    JWTCreator.Builder builder = JWT.create();
+    if (Objects.nonNull(jwtConfig.getKeyId())) {
+      builder.withKeyId(jwtConfig.getKeyId());
+    }
+    return builder;
+  }
+
+  private static JWTVerifier buildVerifier(Algorithm algorithm) {
+    return JWT.require(algorithm).build();
+  }
 }
@@ -0,0 +1,131 @@
+package org.example.service;
+
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.LongSupplier;
+import org.example.config.LoginRateLimitConfig;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+
+/**
+ * ログインの試行回数をIPアドレスとemailごとにスライディングウィンドウで数える
+ * 上限を超えた試行はパスワードを照合する前に断り、総当たりでCPUを使い切られないようにする
+ * キーごとの窓はAtomicReferenceの比較交換で更新するため、ロックを取らない
+ * キーの数が上限に達している間は、新しいキーの試行を数えずに断る
+ */
+@Service
+public class LoginRateLimitService {
+
+  private static final String IP = "ip:";
+
+  private final LoginRateLimitConfig loginRateLimitConfig;
+  private final LongSupplier nanoTime;
+  private final long windowNanos;
+  private final Map<String, AtomicReference<Window>> windows = new ConcurrentHashMap<>();
+
+  @Autowired
+  public LoginRateLimitService(LoginRateLimitConfig loginRateLimitConfig) {
+    this(loginRateLimitConfig, System::nanoTime);
+  }
+
+  LoginRateLimitService(LoginRateLimitConfig loginRateLimitConfig, LongSupplier nanoTime) {
+    this.loginRateLimitConfig = loginRateLimitConfig;
+    this.nanoTime = nanoTime;
+    windowNanos = loginRateLimitConfig.getWindow().toNanos();
+  }
+
+  /**
+   * IPアドレスからの試行を1回数える
+   *
+   * @param ip クライアントのIPアドレス
+   *
+   * @return 上限を超えた場合はtrue
+   */
+  public boolean exceededByIp(String ip) {
+    return exceeded(IP + ip, loginRateLimitConfig.getMaxAttemptsPerIp());
+  }
+
+  /**
+   * emailに対する試行を1回数える
+   * 大文字小文字を変えて制限をすり抜けられないよう、小文字にそろえて数える
+   *
+   * @param principal applicant, companyなどの主体の種類
+   * @param email     ログインを試みたemail
+   *
+   * @return 上限を超えた場合はtrue
+   */
+  public boolean exceededByEmail(String principal, String email) {
+    String key = principal + ":" + String.valueOf(email).toLowerCase(Locale.ROOT);
+    return exceeded(key, loginRateLimitConfig.getMaxAttemptsPerEmail());
+  }
+
+  /**
+   * 2窓以上試行のないキーを捨てる
+   * 捨てる直前に数えた試行は失われることがあるが、制限が1回緩むだけなので許容する
+   */
+  @Scheduled(fixedDelayString = "${login-rate-limit.window:PT1M}")
+  public void evictExpired() {
+    long now = nanoTime.getAsLong();
+    windows.values().removeIf(window -> now - window.get().start() >= 2 * windowNanos);
+  }
+
+  int size() {
+    return windows.size();
+  }
+
+  private boolean exceeded(String key, int maxAttempts) {
+    if (!loginRateLimitConfig.isEnabled()) {
+      return false;
+    }
+    long now = nanoTime.getAsLong();
+    AtomicReference<Window> reference = windows.get(key);
+    if (Objects.isNull(reference)) {
+      if (windows.size() >= loginRateLimitConfig.getMaxKeys()) {
+        return true;
+      }
+      reference = windows.computeIfAbsent(key, k -> new AtomicReference<>(new Window(now, 0, 0)));
+    }
+    while (true) {
+      Window current = reference.get();
+      Window rolled = current.roll(now, windowNanos);
+      if (rolled.estimate(now, windowNanos) + 1 > maxAttempts) {
+        reference.compareAndSet(current, rolled);
+        return true;
+      }
+      if (reference.compareAndSet(current, rolled.increment())) {
+        return false;
+      }
+    }
+  }
+
+  /**
+   * 現在の窓と直前の窓の試行回数
+   * 直前の窓の回数を、現在の窓と重ならない割合で按分して足し合わせる
+   */
+  private record Window(long start, int previous, int current) {
+
+    Window roll(long now, long windowNanos) {
+      long elapsed = now - start;
+      if (elapsed < windowNanos) {
+        return this;
+      }
+      if (elapsed < 2 * windowNanos) {
+        return new Window(start + windowNanos, current, 0);
+      }
+      return new Window(now - elapsed % windowNanos, 0, 0);
+    }
+
+    double estimate(long now, long windowNanos) {
+      double overlap = 1.0 - (double) (now - start) / windowNanos;
+      return previous * overlap + current;
+    }
+
+    Window increment() {
+      return new Window(start, previous, current + 1);
+    }
+  }
+}
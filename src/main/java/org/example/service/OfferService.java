@@ -3,14 +3,19 @@ package org.example.service;
 import java.time.LocalDateTime;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import org.example.config.BatchConfig;
 import org.example.constant.OfferStatus;
+import org.example.error.exception.ConflictException;
 import org.example.error.exception.NotFoundException;
-import org.example.persistence.dto.OfferDetailView;
+import org.example.persistence.dto.Cursor;
+import org.example.persistence.entity.Company;
 import org.example.persistence.entity.Offer;
-import org.example.persistence.repository.OfferDetailViewRepository;
 import org.example.persistence.repository.OfferRepository;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -18,30 +23,114 @@ import reactor.core.publisher.Mono;
 public class OfferService {
 
   private final OfferRepository offerRepository;
-  private final OfferDetailViewRepository offerDetailViewRepository;
+  private final TransactionalOperator transactionalOperator;
+  private final BatchConfig batchConfig;
 
   public OfferService(OfferRepository offerRepository,
-      OfferDetailViewRepository offerDetailViewRepository) {
+      TransactionalOperator transactionalOperator, BatchConfig batchConfig) {
     this.offerRepository = offerRepository;
-    this.offerDetailViewRepository = offerDetailViewRepository;
+    this.transactionalOperator = transactionalOperator;
+    this.batchConfig = batchConfig;
   }
 
   public Flux<Offer> findAll() {
     return offerRepository.findAll(Sort.by(Sort.Direction.DESC, "updatedAt"));
   }
 
+  /**
+   * 更新日時の降順で1ページ分を取得する
+   *
+   * @param cursor 直前のページの最後の行。先頭ページの場合はnull
+   * @param limit  1ページの件数
+   *
+   * @return 1ページ分のOffer
+   */
+  public Flux<Offer> findPage(Cursor cursor, int limit) {
+    if (Objects.isNull(cursor)) {
+      return offerRepository.findFirstPage(limit);
+    }
+    return offerRepository.findPageAfter(cursor.getUpdatedAt(), cursor.getId(), limit);
+  }
+
+  /**
+   * 更新日時の降順で全件を流す
+   * 1回のクエリはlimit件までのキーセットページネーションで読み、
+   * 下流が前のページを読み終えてから次のページを読むため、全件を一度にメモリへ載せない
+   *
+   * @param limit 1回のクエリで読む件数
+   *
+   * @return 全件のOffer
+   */
+  public Flux<Offer> findAllInPages(int limit) {
+    return findPage(null, limit).collectList()
+        .expand(page -> {
+          if (page.size() < limit) {
+            return Mono.empty();
+          }
+          Offer last = page.get(page.size() - 1);
+          return findPage(new Cursor(last.getUpdatedAt(), last.getId()), limit).collectList();
+        })
+        .flatMapIterable(Function.identity(), 1);
+  }
+
   public Mono<Offer> findByUuid(UUID id) {
     return offerRepository.findByUuid(id);
   }
 
-  public Flux<OfferDetailView> findByResumeUuid(UUID resumeUuid) {
-    return offerDetailViewRepository.findByResumeUuid(resumeUuid);
+  public Flux<Offer> findByResumeUuid(UUID resumeUuid) {
+    return offerRepository.findByResumeUuidOrderByStatusIdAscUpdatedAtAsc(resumeUuid);
   }
 
-  public Mono<Offer> save(Offer offer) {
+  /**
+   * 履歴書に届いたオファーをステータス、更新日時の昇順で先頭からlimit件取得する
+   * 社名はoffers.company_nameに持っているため、companiesとは結合しない
+   *
+   * @param resumeUuid 履歴書のUUID
+   * @param limit      取得する件数
+   *
+   * @return オファー
+   */
+  public Flux<Offer> findByResumeUuid(UUID resumeUuid, int limit) {
+    return offerRepository.findByResumeUuidOrderByStatusIdAscUpdatedAtAsc(resumeUuid,
+        PageRequest.of(0, limit));
+  }
+
+  /**
+   * オファーを登録する
+   * 社名は認証済みのCompanyから写すため、companiesは読み直さない
+   *
+   * @param company オファーを出す企業
+   * @param offer   登録するオファー
+   *
+   * @return 登録したOffer
+   */
+  public Mono<Offer> save(Company company, Offer offer) {
+    offer.setCompanyUuid(company.getUuid());
+    offer.setCompanyName(company.getName());
     return offerRepository.save(offer);
   }
 
+  /**
+   * 1社のオファーをまとめて登録する
+   * batch.chunk-size件ごとに1つのステートメントと1つのトランザクションで書き込み、
+   * 登録できたチャンクから順に返す
+   *
+   * @param company オファーを出す企業
+   * @param offers  登録するオファー
+   *
+   * @return IDを採番したオファー
+   */
+  public Flux<Offer> saveAll(Company company, Flux<Offer> offers) {
+    return offers
+        .doOnNext(offer -> {
+          offer.setCompanyUuid(company.getUuid());
+          offer.setCompanyName(company.getName());
+        })
+        .buffer(batchConfig.getChunkSize())
+        .concatMap(chunk -> offerRepository.insertAll(chunk)
+            .as(transactionalOperator::transactional));
+  }
+
   public Mono<Offer> update(Offer offer) {
     return offerRepository.findByUuid(offer.getUuid())
         .switchIfEmpty(Mono.error(new NotFoundException("Offer not found.")))
@@ -51,6 +140,7 @@ public class OfferService {
             .uuid(old.getUuid())
             .resumeUuid(old.getResumeUuid())
             .companyUuid(old.getCompanyUuid())
+            .companyName(old.getCompanyName())
             .price(offer.getPrice())
             .message(offer.getMessage())
             .statusId(offer.getStatusId())
@@ -60,32 +150,63 @@ public class OfferService {
         .flatMap(offerRepository::save);
   }
 
-  public Mono<Void> rejectCheaper(UUID resumeUuid, UUID offerUuid) {
-    Mono<Offer> border = offerRepository.findByUuid(offerUuid)
-        .switchIfEmpty(Mono.error(new NotFoundException("Offer not found.")));
-    return offerRepository.findByResumeUuid(resumeUuid)
-        .filter(offer -> Objects.equals(offer.getStatusId(), OfferStatus.PENDING.getId()))
-        .filter(offer -> !Objects.equals(offer.getUuid(), offerUuid))
-        .filterWhen(offer -> border.map(borderOffer -> borderOffer.getPrice() > offer.getPrice()))
-        .flatMap(offer -> updateOnlyStatus(offer.getUuid(), OfferStatus.REJECTED))
-        .then();
+  /**
+   * オファーを承認し、同じ履歴書に届いたより安い申請中のオファーを拒否する
+   * 同じ履歴書のオファーを行ロックしてから1つのトランザクションで更新するため、
+   * 同じ履歴書への承認が同時に来ても成功するのは1件だけ
+   *
+   * @param uuid 承認するオファーのUUID
+   *
+   * @return 承認後のOffer
+   */
+  public Mono<Offer> accept(UUID uuid) {
+    return offerRepository.findAndLockSiblingsByUuid(uuid)
+        .collectList()
+        .flatMap(offers -> {
+          Offer target = offers.stream()
+              .filter(offer -> Objects.equals(offer.getUuid(), uuid))
+              .findFirst()
+              .orElse(null);
+          if (Objects.isNull(target)) {
+            return Mono.error(new NotFoundException("Offer not found."));
+          }
+          if (offers.stream().anyMatch(
+              offer -> Objects.equals(offer.getStatusId(), OfferStatus.ACCEPTED.getId()))) {
+            return Mono.error(new ConflictException("Resume already has an accepted offer."));
+          }
+          if (Objects.equals(target.getStatusId(), OfferStatus.REJECTED.getId())) {
+            return Mono.error(new ConflictException("Offer is already rejected."));
+          }
+          LocalDateTime now = LocalDateTime.now();
+          target.setStatusId(OfferStatus.ACCEPTED.getId());
+          target.setUpdatedAt(now);
+          return offerRepository.rejectCheaper(target.getResumeUuid(), uuid,
+                  OfferStatus.PENDING.getId(), OfferStatus.REJECTED.getId(), now)
+              .then(offerRepository.updateStatusByUuid(uuid, OfferStatus.ACCEPTED.getId(), now))
+              .thenReturn(target);
+        })
+        .as(transactionalOperator::transactional);
   }
 
-  public Mono<Offer> updateOnlyStatus(UUID uuid, OfferStatus status) {
-    return offerRepository.findByUuid(uuid)
-        .switchIfEmpty(Mono.error(new NotFoundException("Offer not found.")))
-        .map(old -> Offer.builder()
-            .id(old.getId())
-            .uuid(old.getUuid())
-            .resumeUuid(old.getResumeUuid())
-            .companyUuid(old.getCompanyUuid())
-            .price(old.getPrice())
-            .message(old.getMessage())
-            .statusId(status.getId())
-            .createdAt(old.getCreatedAt())
-            .updatedAt(LocalDateTime.now())
-            .build())
-        .flatMap(offerRepository::save);
+  /**
+   * 現在のステータスがexpectedの場合だけステータスを更新する
+   * 条件付きのUPDATEと更新後の行の読み込みを1つのステートメントで行うため、
+   * 他のリクエストがステータスを変えても上書きせず、読み込みとの間に変わることもない
+   * 更新できなかった場合だけ、存在しないのかステータスが異なるのかを調べ直す
+   *
+   * @param uuid     オファーのUUID
+   * @param expected 更新前に期待するステータス
+   * @param status   更新後のステータス
+   *
+   * @return 更新後のOffer
+   */
+  public Mono<Offer> updateOnlyStatus(UUID uuid, OfferStatus expected, OfferStatus status) {
+    return offerRepository.updateStatusByUuidAndStatusId(uuid, expected.getId(), status.getId(),
+            LocalDateTime.now())
+        .switchIfEmpty(offerRepository.findByUuid(uuid)
+            .flatMap(current -> Mono.<Offer>error(
+                new ConflictException("Offer status is not " + expected.name() + ".")))
+            .switchIfEmpty(Mono.error(new NotFoundException("Offer not found."))));
   }
 
   public Mono<Void> deleteById(UUID id) {
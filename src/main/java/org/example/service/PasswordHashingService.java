@@ -0,0 +1,130 @@
+package org.example.service;
+
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.atomic.AtomicBoolean;
+import org.example.config.PasswordHashingConfig;
+import org.example.error.exception.ServiceUnavailableException;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+
+/**
+ * パスワードのハッシュ計算をNettyのイベントループからblockingSchedulerに移す
+ * BCryptは1回に数十〜数百ミリ秒かかるため、イベントループで計算すると
+ * 同じループの他のリクエストが全て止まる
+ * 同時に計算するのはconcurrencyまでで、残りはスレッドを占有せずにキューで順番を待ち、
+ * 計算が終わって枠が空いたときにblockingSchedulerへ渡す
+ * 計算中と計算待ちの合計がconcurrency + queue-capacityを超えた場合は、
+ * 待たせずにServiceUnavailableExceptionで断る
+ */
+@Service
+public class PasswordHashingService {
+
+  private final PasswordEncoder passwordEncoder;
+  private final Scheduler blockingScheduler;
+  private final Semaphore admitted;
+  private final Semaphore running;
+  private final Queue<Runnable> waiting = new ConcurrentLinkedQueue<>();
+
+  public PasswordHashingService(PasswordEncoder passwordEncoder, Scheduler blockingScheduler,
+      PasswordHashingConfig passwordHashingConfig) {
+    this.passwordEncoder = passwordEncoder;
+    this.blockingScheduler = blockingScheduler;
+    int concurrency = passwordHashingConfig.getConcurrency();
+    admitted = new Semaphore(concurrency + passwordHashingConfig.getQueueCapacity());
+    running = new Semaphore(concurrency);
+  }
+
+  /**
+   * パスワードをハッシュ化する
+   *
+   * @param rawPassword 平文のパスワード
+   *
+   * @return ハッシュ値
+   */
+  public Mono<String> encode(String rawPassword) {
+    return offload(() -> passwordEncoder.encode(rawPassword));
+  }
+
+  /**
+   * パスワードがハッシュ値と一致するか確かめる
+   *
+   * @param rawPassword     平文のパスワード
+   * @param encodedPassword 保存しているハッシュ値
+   *
+   * @return 一致する場合はtrue
+   */
+  public Mono<Boolean> matches(String rawPassword, String encodedPassword) {
+    return offload(() -> passwordEncoder.matches(rawPassword, encodedPassword));
+  }
+
+  /**
+   * 保存しているハッシュ値が現在のアルゴリズムやコストより弱いか確かめる
+   * ハッシュ値の接頭辞とパラメータを読むだけなので、イベントループで呼んでよい
+   *
+   * @param encodedPassword 保存しているハッシュ値
+   *
+   * @return 再ハッシュすべき場合はtrue
+   */
+  public boolean needsRehash(String encodedPassword) {
+    return passwordEncoder.upgradeEncoding(encodedPassword);
+  }
+
+  private <T> Mono<T> offload(Callable<T> task) {
+    return Mono.defer(() -> {
+      if (!admitted.tryAcquire()) {
+        return Mono.error(new ServiceUnavailableException("Password hashing is saturated."));
+      }
+      return Mono.<T>create(sink -> {
+            AtomicBoolean cancelled = new AtomicBoolean();
+            sink.onCancel(() -> cancelled.set(true));
+            waiting.add(() -> {
+              if (cancelled.get()) {
+                running.release();
+                return;
+              }
+              try {
+                blockingScheduler.schedule(() -> {
+                  try {
+                    if (!cancelled.get()) {
+                      sink.success(task.call());
+                    }
+                  } catch (Exception e) {
+                    sink.error(e);
+                  } finally {
+                    running.release();
+                    drain();
+                  }
+                });
+              } catch (RejectedExecutionException e) {
+                running.release();
+                sink.error(new ServiceUnavailableException("Password hashing is saturated."));
+              }
+            });
+            drain();
+          })
+          .doFinally(signal -> admitted.release());
+    });
+  }
+
+  /**
+   * 空いている枠の数だけ、順番待ちの先頭からblockingSchedulerに渡す
+   * 枠の確保に失敗したスレッドは待たずに戻り、枠を返したスレッドが続きを渡す
+   */
+  private void drain() {
+    while (!waiting.isEmpty() && running.tryAcquire()) {
+      Runnable next = waiting.poll();
+      if (Objects.isNull(next)) {
+        running.release();
+      } else {
+        next.run();
+      }
+    }
+  }
+}
@@ -1,6 +1,7 @@
 package org.example.service;
 
 import java.util.List;
+import java.util.function.Supplier;
 import org.example.constant.ContextKeys;
 import org.springframework.stereotype.Service;
 import org.springframework.web.server.ServerWebExchange;
@@ -10,14 +11,50 @@ public class ReactiveContextService {
 
   public Boolean containsAttributes(ServerWebExchange exchange, ContextKeys... keys) {
     List<ContextKeys> keyList = List.of(keys);
-    return keyList.stream().anyMatch(key -> exchange.getAttribute(key.getKey()) != null);
+    return keyList.stream().anyMatch(key -> getAttribute(exchange, key) != null);
   }
 
+  @SuppressWarnings("unchecked")
   public <T> T getAttribute(ServerWebExchange exchange, ContextKeys key) {
-    return exchange.getAttribute(key.getKey());
+    Object value = exchange.getAttribute(key.getKey());
+    if (value instanceof Lazy<?> lazy) {
+      return (T) lazy.get();
+    }
+    return (T) value;
   }
 
   public <T> void setAttribute(ServerWebExchange exchange, ContextKeys key, T object) {
     exchange.getAttributes().put(key.getKey(), object);
   }
+
+  /**
+   * 初回の取得時に評価される属性を登録する
+   * 評価結果はメモ化され、2回目以降はsupplierを呼ばない
+   *
+   * @param exchange サーバーとのやり取り
+   * @param key      属性のキー
+   * @param supplier 属性の値を返す関数。値がない場合はnullを返す
+   */
+  public <T> void setLazyAttribute(ServerWebExchange exchange, ContextKeys key,
+      Supplier<T> supplier) {
+    exchange.getAttributes().put(key.getKey(), new Lazy<>(supplier));
+  }
+
+  private static class Lazy<T> {
+
+    private Supplier<T> supplier;
+    private T value;
+
+    Lazy(Supplier<T> supplier) {
+      this.supplier = supplier;
+    }
+
+    synchronized T get() {
+      if (supplier != null) {
+        value = supplier.get();
+        supplier = null;
+      }
+      return value;
+    }
+  }
 }
@@ -0,0 +1,75 @@
+package org.example.service;
+
+import java.time.LocalDateTime;
+import java.util.Objects;
+import java.util.UUID;
+import lombok.extern.slf4j.Slf4j;
+import org.example.config.ResumeExpiryConfig;
+import org.example.constant.MintStatus;
+import org.example.persistence.repository.ResumeRepository;
+import org.example.persistence.repository.SchedulerLeaseRepository;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Mono;
+
+/**
+ * 期限を過ぎたミント済みの履歴書を定期的に期限切れにする
+ * 複数ノードで動かしても、リースを持つ1ノードだけが掃除する
+ */
+@Slf4j
+@Service
+@ConditionalOnProperty(prefix = "resume.expiry", name = "enabled", havingValue = "true",
+    matchIfMissing = true)
+public class ResumeExpiryScheduler {
+
+  static final String LEASE_NAME = "resume-expiry";
+
+  private final ResumeRepository resumeRepository;
+  private final SchedulerLeaseRepository schedulerLeaseRepository;
+  private final ResumeService resumeService;
+  private final ResumeExpiryConfig resumeExpiryConfig;
+  private final String owner = UUID.randomUUID().toString();
+
+  public ResumeExpiryScheduler(ResumeRepository resumeRepository,
+      SchedulerLeaseRepository schedulerLeaseRepository, ResumeService resumeService,
+      ResumeExpiryConfig resumeExpiryConfig) {
+    this.resumeRepository = resumeRepository;
+    this.schedulerLeaseRepository = schedulerLeaseRepository;
+    this.resumeService = resumeService;
+    this.resumeExpiryConfig = resumeExpiryConfig;
+  }
+
+  @Scheduled(fixedDelayString = "${resume.expiry.interval:PT1M}")
+  public void run() {
+    Integer expired = sweep().block();
+    if (Objects.nonNull(expired) && expired > 0) {
+      log.info("期限切れにした履歴書: {}件", expired);
+    }
+  }
+
+  /**
+   * リースを取得できた場合だけ、期限を過ぎた履歴書をバッチ単位で期限切れにする
+   * バッチが埋まらなかった時点か、max-batchesに達した時点で終える
+   *
+   * @return 期限切れにした履歴書の件数
+   */
+  public Mono<Integer> sweep() {
+    LocalDateTime now = LocalDateTime.now();
+    return schedulerLeaseRepository.acquire(LEASE_NAME, owner, now,
+            now.plus(resumeExpiryConfig.getLeaseTtl()))
+        .filter(count -> count > 0)
+        .flatMap(count -> Mono.defer(() -> expireBatch(now))
+            .repeat(resumeExpiryConfig.getMaxBatches() - 1L)
+            .takeUntil(expired -> expired < resumeExpiryConfig.getBatchSize())
+            .reduce(0, Integer::sum))
+        .defaultIfEmpty(0);
+  }
+
+  private Mono<Integer> expireBatch(LocalDateTime now) {
+    return resumeRepository.findDueUuids(MintStatus.PUBLISHED.getId(), now,
+            resumeExpiryConfig.getBatchSize())
+        .collectList()
+        .flatMap(resumeService::expireAll);
+  }
+}
@@ -0,0 +1,261 @@
+package org.example.service;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Optional;
+import java.util.Set;
+import java.util.UUID;
+import org.example.config.BatchConfig;
+import org.example.constant.MintStatus;
+import org.example.error.exception.BadRequestException;
+import org.example.persistence.dto.ResumeImportProgress;
+import org.example.persistence.entity.Resume;
+import org.example.persistence.repository.ResumeRepository;
+import org.springframework.core.ResolvableType;
+import org.springframework.core.codec.StringDecoder;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+
+/**
+ * CSV・NDJSONの履歴書を一括で取り込む
+ * リクエストボディをレコード単位で読み進め、batch.chunk-size行ごとに登録するため、
+ * 行数に関わらず保持するのは1チャンク分だけ
+ * 取り込んだ履歴書は全てログイン中の応募者のものとし、他の応募者を指す行は取り込まない
+ */
+@Service
+public class ResumeImportService {
+
+  private static final ResolvableType STRING_TYPE = ResolvableType.forClass(String.class);
+  private static final String BOM = "\uFEFF";
+  private static final Set<String> IMPORTED_COLUMNS = Set.of("applicantUuid", "education",
+      "experience", "skills", "interests", "urls", "picture");
+
+  private final ResumeRepository resumeRepository;
+  private final TransactionalOperator transactionalOperator;
+  private final BatchConfig batchConfig;
+  private final ObjectMapper objectMapper;
+  private final StringDecoder decoder = StringDecoder.allMimeTypes();
+
+  public ResumeImportService(ResumeRepository resumeRepository,
+      TransactionalOperator transactionalOperator, BatchConfig batchConfig,
+      ObjectMapper objectMapper) {
+    this.resumeRepository = resumeRepository;
+    this.transactionalOperator = transactionalOperator;
+    this.batchConfig = batchConfig;
+    this.objectMapper = objectMapper;
+  }
+
+  /**
+   * ヘッダー行付きのCSVを取り込む
+   * ヘッダーの列名はエクスポートと同じくJSONのプロパティ名(education, skills, ...)に合わせ、
+   * 取り込まない列(uuid, createdAt, ...)は読み飛ばすため、エクスポートしたCSVをそのまま取り込める
+   * applicantUuid列は省略でき、指定する場合はログイン中の応募者と一致する必要がある
+   *
+   * @param applicantUuid ログイン中の応募者のUUID
+   * @param body リクエストボディ
+   *
+   * @return チャンクを登録するたびの累計の進捗
+   */
+  public Flux<ResumeImportProgress> importCsv(UUID applicantUuid, Flux<DataBuffer> body) {
+    return importRows(records(body).switchOnFirst((signal, rows) -> {
+      if (signal.hasError()) {
+        return Flux.error(signal.getThrowable());
+      }
+      if (!signal.hasValue()) {
+        return Flux.empty();
+      }
+      List<String> header = signal.get().orElse(List.of());
+      if (header.isEmpty()) {
+        return Flux.error(new BadRequestException("CSV header is malformed."));
+      }
+      return rows.skip(1).map(record -> record
+          .flatMap(fields -> fromCsv(header, fields))
+          .flatMap(resume -> toResume(applicantUuid, resume)));
+    }));
+  }
+
+  /**
+   * 1行に1つのJSONオブジェクトを持つNDJSONを取り込む
+   * applicantUuidはCSVと同じく省略でき、指定する場合はログイン中の応募者と一致する必要がある
+   *
+   * @param applicantUuid ログイン中の応募者のUUID
+   * @param body リクエストボディ
+   *
+   * @return チャンクを登録するたびの累計の進捗
+   */
+  public Flux<ResumeImportProgress> importNdjson(UUID applicantUuid, Flux<DataBuffer> body) {
+    return importRows(lines(body)
+        .filter(line -> !line.isBlank())
+        .map(line -> fromJson(line).flatMap(resume -> toResume(applicantUuid, resume))));
+  }
+
+  private Flux<ResumeImportProgress> importRows(Flux<Optional<Resume>> rows) {
+    return rows
+        .buffer(batchConfig.getChunkSize())
+        .concatMap(this::write)
+        .scan(ResumeImportProgress::plus);
+  }
+
+  /**
+   * 1チャンクを登録する
+   */
+  private Mono<ResumeImportProgress> write(List<Optional<Resume>> chunk) {
+    List<Resume> parsed = chunk.stream().flatMap(Optional::stream).toList();
+    return resumeRepository.insertAll(parsed).count()
+        .as(transactionalOperator::transactional)
+        .map(imported -> new ResumeImportProgress(chunk.size(), imported,
+            chunk.size() - imported));
+  }
+
+  private Flux<String> lines(Flux<DataBuffer> body) {
+    return decoder.decode(body, STRING_TYPE, null, Collections.emptyMap())
+        .map(line -> line.startsWith(BOM) ? line.substring(BOM.length()) : line);
+  }
+
+  /**
+   * CSVのレコードを読み出す
+   * 閉じていないクォートで終わった最後のレコードは、取り込めない行として空を返す
+   */
+  private Flux<Optional<List<String>>> records(Flux<DataBuffer> body) {
+    return Flux.defer(() -> {
+      CsvReader reader = new CsvReader(decoder.getMaxInMemorySize());
+      return lines(body)
+          .<Optional<List<String>>>handle((line, sink) -> reader.next(line)
+              .ifPresent(record -> sink.next(Optional.of(record))))
+          .concatWith(Mono.defer(() -> reader.unterminated()
+              ? Mono.just(Optional.empty())
+              : Mono.empty()));
+    });
+  }
+
+  private Optional<Resume> fromJson(String line) {
+    try {
+      return Optional.ofNullable(objectMapper.readValue(line, Resume.class));
+    } catch (JsonProcessingException e) {
+      return Optional.empty();
+    }
+  }
+
+  private Optional<Resume> fromCsv(List<String> header, List<String> fields) {
+    if (fields.size() != header.size()) {
+      return Optional.empty();
+    }
+    Map<String, String> values = new HashMap<>();
+    for (int i = 0; i < header.size(); i++) {
+      if (IMPORTED_COLUMNS.contains(header.get(i)) && !fields.get(i).isEmpty()) {
+        values.put(header.get(i), fields.get(i));
+      }
+    }
+    try {
+      return Optional.ofNullable(objectMapper.convertValue(values, Resume.class));
+    } catch (IllegalArgumentException e) {
+      return Optional.empty();
+    }
+  }
+
+  /**
+   * 取り込む列だけを写し、採番・ステータスは新規登録と同じ初期値にする
+   * 他の応募者を指す行は取り込まない
+   */
+  private static Optional<Resume> toResume(UUID applicantUuid, Resume row) {
+    if (Objects.nonNull(row.getApplicantUuid())
+        && !row.getApplicantUuid().equals(applicantUuid)) {
+      return Optional.empty();
+    }
+    return Optional.of(Resume.builder()
+        .uuid(UUID.randomUUID())
+        .applicantUuid(applicantUuid)
+        .education(row.getEducation())
+        .experience(row.getExperience())
+        .skills(row.getSkills())
+        .interests(row.getInterests())
+        .urls(row.getUrls())
+        .picture(row.getPicture())
+        .mintStatusId(MintStatus.PENDING.getId())
+        .minimumPrice(0F)
+        .build());
+  }
+
+  /**
+   * RFC 4180のCSVを行単位で受け取り、レコードを組み立てる
+   * ダブルクォートで囲んだ列の中のカンマ・改行と、""によるエスケープに対応する
+   * クォートの途中の状態を持つため、リクエストボディごとに生成する
+   */
+  static class CsvReader {
+
+    private final int maxRecordLength;
+    private final List<String> fields = new ArrayList<>();
+    private final StringBuilder field = new StringBuilder();
+    private boolean quoted;
+    private int length;
+
+    CsvReader(int maxRecordLength) {
+      this.maxRecordLength = maxRecordLength;
+    }
+
+    /**
+     * 1行を読み進める
+     *
+     * @param line 改行を除いた1行
+     *
+     * @return レコードが閉じた場合は列の一覧。クォートの途中の場合と空行の場合は空
+     */
+    Optional<List<String>> next(String line) {
+      if (!quoted && line.isBlank()) {
+        return Optional.empty();
+      }
+      if (quoted) {
+        field.append('\n');
+      }
+      length += line.length();
+      if (length > maxRecordLength) {
+        throw new BadRequestException("CSV record exceeds " + maxRecordLength + " characters.");
+      }
+      for (int i = 0; i < line.length(); i++) {
+        char c = line.charAt(i);
+        if (quoted) {
+          if (c == '"' && i + 1 < line.length() && line.charAt(i + 1) == '"') {
+            field.append('"');
+            i++;
+          } else if (c == '"') {
+            quoted = false;
+          } else {
+            field.append(c);
+          }
+        } else if (c == '"') {
+          quoted = true;
+        } else if (c == ',') {
+          fields.add(field.toString());
+          field.setLength(0);
+        } else {
+          field.append(c);
+        }
+      }
+      if (quoted) {
+        return Optional.empty();
+      }
+      fields.add(field.toString());
+      List<String> record = List.copyOf(fields);
+      fields.clear();
+      field.setLength(0);
+      length = 0;
+      return Optional.of(record);
+    }
+
+    /**
+     * @return クォートが閉じないままボディが終わった場合はtrue
+     */
+    boolean unterminated() {
+      return quoted;
+    }
+  }
+}
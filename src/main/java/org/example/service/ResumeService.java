@@ -1,16 +1,23 @@
 package org.example.service;
 
 import java.time.LocalDateTime;
+import java.util.Collection;
+import java.util.List;
 import java.util.Objects;
 import java.util.UUID;
+import java.util.function.Function;
+import org.example.config.ResumeExpiryConfig;
 import org.example.constant.MintStatus;
 import org.example.constant.OfferStatus;
+import org.example.error.exception.ConflictException;
 import org.example.error.exception.NotFoundException;
+import org.example.persistence.dto.Cursor;
 import org.example.persistence.entity.Resume;
 import org.example.persistence.repository.OfferRepository;
 import org.example.persistence.repository.ResumeRepository;
 import org.springframework.data.domain.Sort;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
@@ -19,16 +26,57 @@ public class ResumeService {
 
   private final ResumeRepository resumeRepository;
   private final OfferRepository offerRepository;
+  private final TransactionalOperator transactionalOperator;
+  private final ResumeExpiryConfig resumeExpiryConfig;
 
-  public ResumeService(ResumeRepository resumeRepository, OfferRepository offerRepository) {
+  public ResumeService(ResumeRepository resumeRepository, OfferRepository offerRepository,
+      TransactionalOperator transactionalOperator, ResumeExpiryConfig resumeExpiryConfig) {
     this.resumeRepository = resumeRepository;
     this.offerRepository = offerRepository;
+    this.transactionalOperator = transactionalOperator;
+    this.resumeExpiryConfig = resumeExpiryConfig;
   }
 
   public Flux<Resume> findAll() {
     return resumeRepository.findAll(Sort.by(Sort.Direction.DESC, "updatedAt"));
   }
 
+  /**
+   * 更新日時の降順で1ページ分を取得する
+   *
+   * @param cursor 直前のページの最後の行。先頭ページの場合はnull
+   * @param limit  1ページの件数
+   *
+   * @return 1ページ分のResume
+   */
+  public Flux<Resume> findPage(Cursor cursor, int limit) {
+    if (Objects.isNull(cursor)) {
+      return resumeRepository.findFirstPage(limit);
+    }
+    return resumeRepository.findPageAfter(cursor.getUpdatedAt(), cursor.getId(), limit);
+  }
+
+  /**
+   * 更新日時の降順で全件を流す
+   * 1回のクエリはlimit件までのキーセットページネーションで読み、
+   * 下流が前のページを読み終えてから次のページを読むため、全件を一度にメモリへ載せない
+   *
+   * @param limit 1回のクエリで読む件数
+   *
+   * @return 全件のResume
+   */
+  public Flux<Resume> findAllInPages(int limit) {
+    return findPage(null, limit).collectList()
+        .expand(page -> {
+          if (page.size() < limit) {
+            return Mono.empty();
+          }
+          Resume last = page.get(page.size() - 1);
+          return findPage(new Cursor(last.getUpdatedAt(), last.getId()), limit).collectList();
+        })
+        .flatMapIterable(Function.identity(), 1);
+  }
+
   public Mono<Resume> findByUuid(UUID id) {
     return resumeRepository.findByUuid(id);
   }
@@ -37,6 +85,10 @@ public class ResumeService {
     return resumeRepository.findByMintStatusId(mintStatusId);
   }
 
+  public Flux<Resume> findByUuids(Collection<UUID> uuids) {
+    return resumeRepository.findByUuidIn(uuids);
+  }
+
   public Flux<Resume> findByApplicantId(UUID resumeId) {
     return resumeRepository.findByApplicantUuid(resumeId);
   }
@@ -57,6 +109,7 @@ public class ResumeService {
             .skills(resume.getSkills())
             .interests(resume.getInterests())
             .urls(resume.getUrls())
+            .expiresAt(old.getExpiresAt())
             .createdAt(old.getCreatedAt())
             .updatedAt(LocalDateTime.now())
             .version(old.getVersion())
@@ -69,30 +122,64 @@ public class ResumeService {
         .switchIfEmpty(Mono.error(new NotFoundException("Resume not found.")))
         .map(old -> {
           old.setMinimumPrice(price);
+          LocalDateTime now = LocalDateTime.now();
           old.setMintStatusId(MintStatus.PUBLISHED.getId());
-          old.setUpdatedAt(LocalDateTime.now());
+          old.setExpiresAt(now.plus(resumeExpiryConfig.getTtl()));
+          old.setUpdatedAt(now);
           return old;
         })
         .flatMap(resumeRepository::save);
   }
 
+  /**
+   * 履歴書を1件期限切れにする
+   * ミント済でない場合のConflictExceptionもトランザクションの中で投げ、何も確定しない
+   *
+   * @param uuid 履歴書のUUID
+   *
+   * @return 期限切れにした履歴書
+   */
   public Mono<Resume> expire(UUID uuid) {
-    Mono<Resume> resumeMono = resumeRepository.findByUuid(uuid)
-        .switchIfEmpty(Mono.error(new NotFoundException("Resume not found.")));
-    return resumeMono.flatMapMany(resume -> offerRepository.findByResumeUuid(resume.getUuid()))
-        .filter(offer -> Objects.equals(offer.getStatusId(), OfferStatus.PENDING.getId()))
-        .map(offer -> {
-          offer.setStatusId(OfferStatus.REJECTED.getId());
-          return offer;
-        })
-        .flatMap(offerRepository::save)
-        .then(resumeMono)
-        .map(old -> {
-          old.setMintStatusId(MintStatus.EXPIRED.getId());
-          old.setUpdatedAt(LocalDateTime.now());
-          return old;
-        })
-        .flatMap(resumeRepository::save);
+    return expireUuids(List.of(uuid))
+        .filter(count -> count > 0)
+        .flatMap(count -> resumeRepository.findByUuid(uuid))
+        .switchIfEmpty(resumeRepository.findByUuid(uuid)
+            .flatMap(current -> Mono.<Resume>error(
+                new ConflictException("Resume is not " + MintStatus.PUBLISHED.name() + ".")))
+            .switchIfEmpty(Mono.error(new NotFoundException("Resume not found."))))
+        .as(transactionalOperator::transactional);
+  }
+
+  /**
+   * 履歴書をまとめて期限切れにする
+   * 履歴書の更新と申請中のオファーの拒否をそれぞれ1回のUPDATEで行い、1つのトランザクションで確定する
+   * ミント済の履歴書だけを更新するため、未ミントや期限切れ済の履歴書は件数に含まれない
+   *
+   * @param uuids 履歴書のUUID
+   *
+   * @return 期限切れにした履歴書の件数
+   */
+  public Mono<Integer> expireAll(Collection<UUID> uuids) {
+    if (uuids.isEmpty()) {
+      return Mono.just(0);
+    }
+    return expireUuids(uuids).as(transactionalOperator::transactional);
+  }
+
+  /**
+   * 先にミント済の履歴書だけを期限切れにし、オファーの拒否は期限切れの履歴書に限る
+   * 未ミントの履歴書に届いた申請中のオファーはそのまま残る
+   */
+  private Mono<Integer> expireUuids(Collection<UUID> uuids) {
+    LocalDateTime now = LocalDateTime.now();
+    return resumeRepository.updateMintStatusByUuidInAndMintStatusId(uuids,
+            MintStatus.PUBLISHED.getId(), MintStatus.EXPIRED.getId(), now)
+        .flatMap(expired -> expired == 0
+            ? Mono.just(0)
+            : offerRepository.updateStatusByResumeUuidInAndStatusId(uuids,
+                    MintStatus.EXPIRED.getId(), OfferStatus.PENDING.getId(),
+                    OfferStatus.REJECTED.getId(), now)
+                .thenReturn(expired));
   }
 
   public Mono<Void> deleteById(UUID id) {
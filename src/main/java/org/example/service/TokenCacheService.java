@@ -0,0 +1,160 @@
+package org.example.service;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Function;
+import org.example.config.JwtConfig;
+import org.example.persistence.entity.Applicant;
+import org.example.persistence.entity.Company;
+import org.springframework.stereotype.Service;
+
+/**
+ * 検証済みトークンのキャッシュ
+ * Cookieの値のSHA-256をキーに、デコード済みの主体をJWTのexpまで保持する
+ * ヒット数とミス数はcache.gets{cache=jwt}として公開する
+ */
+@Service
+public class TokenCacheService {
+
+  private static final int SEGMENTS = 16;
+  private static final String METRIC = "cache.gets";
+
+  private final JwtService jwtService;
+  private final Base64Service base64Service;
+  private final boolean enabled;
+  private final BoundedCache<Applicant> applicants;
+  private final BoundedCache<Company> companies;
+  private final LongAdder hits = new LongAdder();
+  private final LongAdder misses = new LongAdder();
+
+  public TokenCacheService(JwtService jwtService, Base64Service base64Service,
+      JwtConfig jwtConfig, MeterRegistry meterRegistry) {
+    this.jwtService = jwtService;
+    this.base64Service = base64Service;
+    this.enabled = jwtConfig.getCache().isEnabled();
+    this.applicants = new BoundedCache<>(jwtConfig.getCache().getMaxSize());
+    this.companies = new BoundedCache<>(jwtConfig.getCache().getMaxSize());
+    counter(meterRegistry, hits, "hit");
+    counter(meterRegistry, misses, "miss");
+  }
+
+  public Applicant decodeApplicant(String token) {
+    return get(applicants, token, jwtService::toApplicant);
+  }
+
+  public Company decodeCompany(String token) {
+    return get(companies, token, jwtService::toCompany);
+  }
+
+  private <T> T get(BoundedCache<T> cache, String token, Function<DecodedJWT, T> mapper) {
+    if (!enabled) {
+      return mapper.apply(jwtService.verify(toJwt(token)));
+    }
+    ByteBuffer key = digest(token);
+    long now = Instant.now().toEpochMilli();
+    T cached = cache.get(key, now);
+    if (Objects.nonNull(cached)) {
+      hits.increment();
+      return cached;
+    }
+    misses.increment();
+    DecodedJWT decodedJWT = jwtService.verify(toJwt(token));
+    T principal = mapper.apply(decodedJWT);
+    Instant expiresAt = decodedJWT.getExpiresAtAsInstant();
+    if (Objects.nonNull(expiresAt) && expiresAt.toEpochMilli() > now) {
+      cache.put(key, principal, expiresAt.toEpochMilli());
+    }
+    return principal;
+  }
+
+  /**
+   * Cookieの値をJWTに戻す
+   * JWTは必ず.を含み、Base64は.を含まないため、以前に発行したBase64のCookieも受け付ける
+   *
+   * @param token Cookieの値
+   *
+   * @return JWT文字列
+   */
+  private String toJwt(String token) {
+    return token.indexOf('.') >= 0 ? token : base64Service.decode(token);
+  }
+
+  private static void counter(MeterRegistry meterRegistry, LongAdder adder, String result) {
+    FunctionCounter.builder(METRIC, adder, LongAdder::sum)
+        .description("Token cache lookups")
+        .tag("cache", "jwt")
+        .tag("result", result)
+        .register(meterRegistry);
+  }
+
+  private static ByteBuffer digest(String token) {
+    try {
+      return ByteBuffer.wrap(MessageDigest.getInstance("SHA-256")
+          .digest(token.getBytes(StandardCharsets.UTF_8)));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException(e);
+    }
+  }
+
+  /**
+   * セグメントごとにロックを分けたLRUキャッシュ
+   */
+  private static class BoundedCache<T> {
+
+    private final Map<ByteBuffer, Entry<T>>[] segments;
+
+    @SuppressWarnings("unchecked")
+    BoundedCache(int maxSize) {
+      int segmentSize = Math.max(1, maxSize / SEGMENTS);
+      segments = new Map[SEGMENTS];
+      for (int i = 0; i < SEGMENTS; i++) {
+        segments[i] = new LinkedHashMap<>(16, 0.75f, true) {
+          @Override
+          protected boolean removeEldestEntry(Map.Entry<ByteBuffer, Entry<T>> eldest) {
+            return size() > segmentSize;
+          }
+        };
+      }
+    }
+
+    T get(ByteBuffer key, long now) {
+      Map<ByteBuffer, Entry<T>> segment = segmentOf(key);
+      synchronized (segment) {
+        Entry<T> entry = segment.get(key);
+        if (Objects.isNull(entry)) {
+          return null;
+        }
+        if (entry.expiresAt() <= now) {
+          segment.remove(key);
+          return null;
+        }
+        return entry.value();
+      }
+    }
+
+    void put(ByteBuffer key, T value, long expiresAt) {
+      Map<ByteBuffer, Entry<T>> segment = segmentOf(key);
+      synchronized (segment) {
+        segment.put(key, new Entry<>(value, expiresAt));
+      }
+    }
+
+    private Map<ByteBuffer, Entry<T>> segmentOf(ByteBuffer key) {
+      return segments[Math.floorMod(key.hashCode(), SEGMENTS)];
+    }
+  }
+
+  private record Entry<T>(T value, long expiresAt) {
+
+  }
+}
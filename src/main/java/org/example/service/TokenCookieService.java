@@ -0,0 +1,42 @@
+package org.example.service;
+
+import org.example.config.JwtConfig;
+import org.example.constant.CookieKeys;
+import org.example.persistence.entity.Applicant;
+import org.example.persistence.entity.Company;
+import org.springframework.http.ResponseCookie;
+import org.springframework.stereotype.Service;
+
+/**
+ * 登録とログインで返すトークンのCookieを作る
+ * JWTはURLセーフなBase64のセグメントを.でつないだもので、そのままCookieの値に使える
+ * そのためJWT全体をもう一度Base64でエンコードせず、署名した文字列をそのまま値にする
+ */
+@Service
+public class TokenCookieService {
+
+  private final JwtService jwtService;
+  /** in seconds */
+  private final long maxAge;
+
+  public TokenCookieService(JwtService jwtService, JwtConfig jwtConfig) {
+    this.jwtService = jwtService;
+    this.maxAge = jwtConfig.getTtl() / 1000;
+  }
+
+  public ResponseCookie applicantCookie(Applicant applicant) {
+    return cookie(CookieKeys.APPLICANT_TOKEN, jwtService.encodeApplicant(applicant));
+  }
+
+  public ResponseCookie companyCookie(Company company) {
+    return cookie(CookieKeys.COMPANY_TOKEN, jwtService.encodeCompany(company));
+  }
+
+  private ResponseCookie cookie(String name, String jwt) {
+    return ResponseCookie.from(name, jwt)
+        .path("/")
+        .httpOnly(true)
+        .maxAge(maxAge)
+        .build();
+  }
+}
@@ -1,18 +1,18 @@
 package org.example.web.controller;
 
+import java.util.List;
 import java.util.UUID;
-import org.example.config.JwtConfig;
 import org.example.constant.ContextKeys;
-import org.example.constant.CookieKeys;
+import org.example.constant.HeaderKeys;
 import org.example.persistence.entity.Applicant;
 import org.example.service.ApplicantService;
-import org.example.service.Base64Service;
-import org.example.service.JwtService;
+import org.example.service.CursorService;
 import org.example.service.ReactiveContextService;
+import org.example.service.TokenCookieService;
 import org.example.web.request.ApplicantInsertRequest;
 import org.example.web.request.ApplicantLoginRequest;
 import org.example.web.response.ApplicantResponse;
-import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -20,9 +20,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -30,24 +30,31 @@ import reactor.core.publisher.Mono;
 public class ApplicantController {
 
   private final ApplicantService applicantService;
-  private final JwtService jwtService;
-  private final Base64Service base64Service;
+  private final TokenCookieService tokenCookieService;
   private final ReactiveContextService reactiveContextService;
-  private final JwtConfig jwtConfig;
+  private final CursorService cursorService;
 
-  public ApplicantController(ApplicantService applicantService, JwtService jwtService,
-      Base64Service base64Service, ReactiveContextService reactiveContextService,
-      JwtConfig jwtConfig) {
+  public ApplicantController(ApplicantService applicantService,
+      TokenCookieService tokenCookieService, ReactiveContextService reactiveContextService,
+      CursorService cursorService) {
     this.applicantService = applicantService;
-    this.jwtService = jwtService;
-    this.base64Service = base64Service;
+    this.tokenCookieService = tokenCookieService;
     this.reactiveContextService = reactiveContextService;
-    this.jwtConfig = jwtConfig;
+    this.cursorService = cursorService;
   }
 
   @GetMapping
-  public Flux<ApplicantResponse> index() {
-    return applicantService.findAll().map(ApplicantResponse::new);
+  public Mono<ResponseEntity<List<ApplicantResponse>>> index(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    int size = cursorService.limit(limit);
+    return applicantService.findPage(cursorService.decode(cursor), size)
+        .collectList()
+        .map(applicants -> ResponseEntity.ok()
+            .headers(headers -> cursorService
+                .next(applicants, size, Applicant::getUpdatedAt, Applicant::getId)
+                .ifPresent(next -> headers.set(HeaderKeys.NEXT_CURSOR, next)))
+            .body(applicants.stream().map(ApplicantResponse::new).toList()));
   }
 
   @GetMapping("/{id}")
@@ -64,15 +71,8 @@ public class ApplicantController {
   @PostMapping
   public Mono<Void> save(ServerWebExchange exchange, @RequestBody ApplicantInsertRequest request) {
     return applicantService.save(request.exportEntity(), request.getPassword())
-        .map(jwtService::encodeApplicant)
-        .map(base64Service::encode)
-        .doOnNext(jwt -> exchange.getResponse().addCookie(
-            ResponseCookie
-                .from(CookieKeys.APPLICANT_TOKEN, jwt)
-                .path("/")
-                .httpOnly(true)
-                .maxAge(jwtConfig.getTtl() / 1000)
-                .build()))
+        .map(tokenCookieService::applicantCookie)
+        .doOnNext(exchange.getResponse()::addCookie)
         .then();
   }
 
@@ -87,15 +87,8 @@ public class ApplicantController {
   @PostMapping("/login")
   public Mono<Void> login(ServerWebExchange exchange, @RequestBody ApplicantLoginRequest request) {
     return applicantService.login(request.getEmail(), request.getPassword())
-        .map(jwtService::encodeApplicant)
-        .map(base64Service::encode)
-        .doOnNext(jwt -> exchange.getResponse().addCookie(
-            ResponseCookie
-                .from(CookieKeys.APPLICANT_TOKEN, jwt)
-                .path("/")
-                .httpOnly(true)
-                .maxAge(jwtConfig.getTtl() / 1000)
-                .build()))
+        .map(tokenCookieService::applicantCookie)
+        .doOnNext(exchange.getResponse()::addCookie)
         .then();
   }
 
@@ -1,18 +1,18 @@
 package org.example.web.controller;
 
+import java.util.List;
 import java.util.UUID;
-import org.example.config.JwtConfig;
 import org.example.constant.ContextKeys;
-import org.example.constant.CookieKeys;
+import org.example.constant.HeaderKeys;
 import org.example.persistence.entity.Company;
-import org.example.service.Base64Service;
 import org.example.service.CompanyService;
-import org.example.service.JwtService;
+import org.example.service.CursorService;
 import org.example.service.ReactiveContextService;
+import org.example.service.TokenCookieService;
 import org.example.web.request.CompanyInsertRequest;
 import org.example.web.request.CompanyLoginRequest;
 import org.example.web.response.CompanyResponse;
-import org.springframework.http.ResponseCookie;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -20,9 +20,9 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
-import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 
 @RestController
@@ -30,25 +30,32 @@ import reactor.core.publisher.Mono;
 public class CompanyController {
 
   private final CompanyService companyService;
-  private final JwtService jwtService;
-  private final Base64Service base64Service;
+  private final TokenCookieService tokenCookieService;
   private final ReactiveContextService reactiveContextService;
-  private final JwtConfig jwtConfig;
+  private final CursorService cursorService;
 
 
-  public CompanyController(CompanyService companyService, JwtService jwtService,
-      Base64Service base64Service, ReactiveContextService reactiveContextService,
-      JwtConfig jwtConfig) {
+  public CompanyController(CompanyService companyService,
+      TokenCookieService tokenCookieService, ReactiveContextService reactiveContextService,
+      CursorService cursorService) {
     this.companyService = companyService;
-    this.jwtService = jwtService;
-    this.base64Service = base64Service;
+    this.tokenCookieService = tokenCookieService;
     this.reactiveContextService = reactiveContextService;
-    this.jwtConfig = jwtConfig;
+    this.cursorService = cursorService;
   }
 
   @GetMapping
-  public Flux<CompanyResponse> index() {
-    return companyService.findAll().map(CompanyResponse::new);
+  public Mono<ResponseEntity<List<CompanyResponse>>> index(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    int size = cursorService.limit(limit);
+    return companyService.findPage(cursorService.decode(cursor), size)
+        .collectList()
+        .map(companies -> ResponseEntity.ok()
+            .headers(headers -> cursorService
+                .next(companies, size, Company::getUpdatedAt, Company::getId)
+                .ifPresent(next -> headers.set(HeaderKeys.NEXT_CURSOR, next)))
+            .body(companies.stream().map(CompanyResponse::new).toList()));
   }
 
   @GetMapping("/{id}")
@@ -65,15 +72,8 @@ public class CompanyController {
   @PostMapping
   public Mono<Void> save(ServerWebExchange exchange, @RequestBody CompanyInsertRequest request) {
     return companyService.save(request.exportEntity(), request.getPassword())
-        .map(jwtService::encodeCompany)
-        .map(base64Service::encode)
-        .doOnNext(jwt -> exchange.getResponse().addCookie(
-            ResponseCookie
-                .from(CookieKeys.COMPANY_TOKEN, jwt)
-                .path("/")
-                .httpOnly(true)
-                .maxAge(jwtConfig.getTtl() / 1000)
-                .build()))
+        .map(tokenCookieService::companyCookie)
+        .doOnNext(exchange.getResponse()::addCookie)
         .then();
   }
 
@@ -88,14 +88,8 @@ public class CompanyController {
   @PostMapping("/login")
   public Mono<Void> login(ServerWebExchange exchange, @RequestBody CompanyLoginRequest request) {
     return companyService.login(request.getEmail(), request.getPassword())
-        .map(jwtService::encodeCompany)
-        .map(base64Service::encode)
-        .doOnNext(jwt -> exchange.getResponse().addCookie(
-            ResponseCookie.from(CookieKeys.COMPANY_TOKEN, jwt)
-                .path("/")
-                .httpOnly(true)
-                .maxAge(jwtConfig.getTtl() / 1000)
-                .build()))
+        .map(tokenCookieService::companyCookie)
+        .doOnNext(exchange.getResponse()::addCookie)
         .then();
   }
 
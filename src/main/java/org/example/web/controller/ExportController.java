@@ -0,0 +1,57 @@
+package org.example.web.controller;
+
+import java.time.LocalDateTime;
+import org.example.constant.ExportFormat;
+import org.example.persistence.dto.ExportFilter;
+import org.example.service.ExportService;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.format.annotation.DateTimeFormat;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.server.ServerWebExchange;
+import reactor.core.publisher.Flux;
+
+@RestController
+@RequestMapping("/api/v1/exports")
+public class ExportController {
+
+  private final ExportService exportService;
+
+  public ExportController(ExportService exportService) {
+    this.exportService = exportService;
+  }
+
+  @GetMapping(value = "/offers",
+      produces = {ExportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<Flux<DataBuffer>> exportOffers(ServerWebExchange exchange,
+      @RequestParam(required = false) Integer status,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+      LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+      LocalDateTime to) {
+    ExportFormat format = ExportFormat.of(exchange.getRequest().getHeaders().getAccept());
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .body(exportService.exportOffers(new ExportFilter(status, from, to), format,
+            exchange.getResponse().bufferFactory()));
+  }
+
+  @GetMapping(value = "/resumes",
+      produces = {ExportFormat.TEXT_CSV_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public ResponseEntity<Flux<DataBuffer>> exportResumes(ServerWebExchange exchange,
+      @RequestParam(required = false) Integer status,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+      LocalDateTime from,
+      @RequestParam(required = false) @DateTimeFormat(iso = DateTimeFormat.ISO.DATE_TIME)
+      LocalDateTime to) {
+    ExportFormat format = ExportFormat.of(exchange.getRequest().getHeaders().getAccept());
+    return ResponseEntity.ok()
+        .contentType(format.getMediaType())
+        .body(exportService.exportResumes(new ExportFilter(status, from, to), format,
+            exchange.getResponse().bufferFactory()));
+  }
+}
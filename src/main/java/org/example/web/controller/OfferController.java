@@ -1,15 +1,21 @@
 package org.example.web.controller;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import org.example.constant.ContextKeys;
+import org.example.constant.HeaderKeys;
 import org.example.constant.OfferStatus;
 import org.example.persistence.entity.Company;
 import org.example.persistence.entity.Offer;
+import org.example.service.CursorService;
 import org.example.service.OfferService;
 import org.example.service.ReactiveContextService;
 import org.example.web.request.OfferRequest;
 import org.example.web.response.OfferDetailResponse;
 import org.example.web.response.OfferResponse;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -17,6 +23,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
@@ -28,15 +35,32 @@ public class OfferController {
 
   private final OfferService offerService;
   private final ReactiveContextService reactiveContextService;
+  private final CursorService cursorService;
 
-  public OfferController(OfferService offerService, ReactiveContextService reactiveContextService) {
+  public OfferController(OfferService offerService, ReactiveContextService reactiveContextService,
+      CursorService cursorService) {
     this.offerService = offerService;
     this.reactiveContextService = reactiveContextService;
+    this.cursorService = cursorService;
   }
 
   @GetMapping
-  public Flux<OfferResponse> index() {
-    return offerService.findAll().map(OfferResponse::new);
+  public Mono<ResponseEntity<List<OfferResponse>>> index(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    int size = cursorService.limit(limit);
+    return offerService.findPage(cursorService.decode(cursor), size)
+        .collectList()
+        .map(offers -> ResponseEntity.ok()
+            .headers(headers -> cursorService
+                .next(offers, size, Offer::getUpdatedAt, Offer::getId)
+                .ifPresent(next -> headers.set(HeaderKeys.NEXT_CURSOR, next)))
+            .body(offers.stream().map(OfferResponse::new).toList()));
+  }
+
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  public Flux<OfferResponse> stream() {
+    return offerService.findAllInPages(cursorService.streamLimit()).map(OfferResponse::new);
   }
 
   @GetMapping("/{id}")
@@ -44,9 +68,15 @@ public class OfferController {
     return offerService.findByUuid(id).map(OfferResponse::new);
   }
 
-  @GetMapping("/resume/{id}")
-  public Flux<OfferDetailResponse> findByResumeUuid(@PathVariable UUID id) {
-    return offerService.findByResumeUuid(id).map(OfferDetailResponse::new);
+  @GetMapping(value = "/resume/{id}", produces = {MediaType.APPLICATION_JSON_VALUE,
+      MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  public Flux<OfferDetailResponse> findByResumeUuid(@PathVariable UUID id,
+      @RequestParam(required = false) Integer limit) {
+    if (Objects.isNull(limit)) {
+      return offerService.findByResumeUuid(id).map(OfferDetailResponse::new);
+    }
+    return offerService.findByResumeUuid(id, cursorService.limit(limit))
+        .map(OfferDetailResponse::new);
   }
 
   @PostMapping
@@ -54,8 +84,16 @@ public class OfferController {
       @RequestBody OfferRequest request) {
     Offer offer = request.exportEntity();
     Company company = reactiveContextService.getAttribute(exchange, ContextKeys.COMPANY_KEY);
-    offer.setCompanyUuid(company.getUuid());
-    return offerService.save(offer).map(OfferResponse::new);
+    return offerService.save(company, offer).map(OfferResponse::new);
+  }
+
+  @PostMapping(value = "/batch",
+      consumes = {MediaType.APPLICATION_JSON_VALUE, MediaType.APPLICATION_NDJSON_VALUE})
+  public Flux<OfferResponse> saveAll(ServerWebExchange exchange,
+      @RequestBody Flux<OfferRequest> requests) {
+    Company company = reactiveContextService.getAttribute(exchange, ContextKeys.COMPANY_KEY);
+    return offerService.saveAll(company, requests.map(OfferRequest::exportEntity))
+        .map(OfferResponse::new);
   }
 
   @PatchMapping("/{id}")
@@ -68,22 +106,19 @@ public class OfferController {
 
   @PatchMapping("/{id}/payment")
   public Mono<OfferResponse> payment(@PathVariable UUID id) {
-    return offerService.findByUuid(id)
-        .then(offerService.updateOnlyStatus(id, OfferStatus.PENDING_PAYMENT))
+    return offerService.updateOnlyStatus(id, OfferStatus.PENDING, OfferStatus.PENDING_PAYMENT)
         .map(OfferResponse::new);
   }
 
   @PatchMapping("/{id}/accept")
   public Mono<OfferResponse> accepted(@PathVariable UUID id) {
-    return offerService.findByUuid(id)
-        .flatMap(offer -> offerService.rejectCheaper(offer.getResumeUuid(), offer.getUuid()))
-        .then(offerService.updateOnlyStatus(id, OfferStatus.ACCEPTED))
-        .map(OfferResponse::new);
+    return offerService.accept(id).map(OfferResponse::new);
   }
 
   @PatchMapping("/{id}/reject")
   public Mono<OfferResponse> rejected(@PathVariable UUID id) {
-    return offerService.updateOnlyStatus(id, OfferStatus.REJECTED).map(OfferResponse::new);
+    return offerService.updateOnlyStatus(id, OfferStatus.PENDING, OfferStatus.REJECTED)
+        .map(OfferResponse::new);
   }
 
   @DeleteMapping("/{id}")
@@ -1,14 +1,25 @@
 package org.example.web.controller;
 
+import java.util.List;
+import java.util.Objects;
 import java.util.UUID;
 import org.example.constant.ContextKeys;
+import org.example.constant.HeaderKeys;
+import org.example.error.exception.BadRequestException;
 import org.example.persistence.entity.Applicant;
 import org.example.persistence.entity.Resume;
+import org.example.service.CursorService;
 import org.example.service.ReactiveContextService;
+import org.example.service.ResumeImportService;
 import org.example.service.ResumeService;
+import org.example.web.request.ResumeExpireRequest;
 import org.example.web.request.ResumeInsertRequest;
 import org.example.web.request.ResumeUpdateRequest;
+import org.example.web.response.ResumeImportResponse;
 import org.example.web.response.ResumeResponse;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
 import org.springframework.web.bind.annotation.GetMapping;
 import org.springframework.web.bind.annotation.PatchMapping;
@@ -16,6 +27,7 @@ import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
@@ -27,16 +39,36 @@ public class ResumeController {
 
   private final ResumeService resumeService;
   private final ReactiveContextService reactiveContextService;
+  private final CursorService cursorService;
+  private final ResumeImportService resumeImportService;
 
   public ResumeController(ResumeService resumeService,
-      ReactiveContextService reactiveContextService) {
+      ReactiveContextService reactiveContextService,
+      CursorService cursorService,
+      ResumeImportService resumeImportService) {
     this.resumeService = resumeService;
     this.reactiveContextService = reactiveContextService;
+    this.cursorService = cursorService;
+    this.resumeImportService = resumeImportService;
   }
 
   @GetMapping
-  public Flux<ResumeResponse> index() {
-    return resumeService.findAll().map(ResumeResponse::new);
+  public Mono<ResponseEntity<List<ResumeResponse>>> index(
+      @RequestParam(required = false) String cursor,
+      @RequestParam(required = false) Integer limit) {
+    int size = cursorService.limit(limit);
+    return resumeService.findPage(cursorService.decode(cursor), size)
+        .collectList()
+        .map(resumes -> ResponseEntity.ok()
+            .headers(headers -> cursorService
+                .next(resumes, size, Resume::getUpdatedAt, Resume::getId)
+                .ifPresent(next -> headers.set(HeaderKeys.NEXT_CURSOR, next)))
+            .body(resumes.stream().map(ResumeResponse::new).toList()));
+  }
+
+  @GetMapping(produces = {MediaType.APPLICATION_NDJSON_VALUE, MediaType.TEXT_EVENT_STREAM_VALUE})
+  public Flux<ResumeResponse> stream() {
+    return resumeService.findAllInPages(cursorService.streamLimit()).map(ResumeResponse::new);
   }
 
   @GetMapping("/{id}")
@@ -65,6 +97,24 @@ public class ResumeController {
     return resumeService.insert(resume).map(ResumeResponse::new);
   }
 
+  @PostMapping(value = "/import", consumes = "text/csv",
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<ResumeImportResponse> importCsv(ServerWebExchange exchange,
+      @RequestBody Flux<DataBuffer> body) {
+    Applicant applicant = reactiveContextService.getAttribute(exchange, ContextKeys.APPLICANT_KEY);
+    return resumeImportService.importCsv(applicant.getUuid(), body)
+        .map(ResumeImportResponse::new);
+  }
+
+  @PostMapping(value = "/import", consumes = MediaType.APPLICATION_NDJSON_VALUE,
+      produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<ResumeImportResponse> importNdjson(ServerWebExchange exchange,
+      @RequestBody Flux<DataBuffer> body) {
+    Applicant applicant = reactiveContextService.getAttribute(exchange, ContextKeys.APPLICANT_KEY);
+    return resumeImportService.importNdjson(applicant.getUuid(), body)
+        .map(ResumeImportResponse::new);
+  }
+
   @PatchMapping("/{id}")
   public Mono<ResumeResponse> update(@PathVariable UUID id,
       @RequestBody ResumeUpdateRequest request) {
@@ -80,6 +130,16 @@ public class ResumeController {
         .map(ResumeResponse::new);
   }
 
+  @PatchMapping("/expire")
+  public Flux<ResumeResponse> expireAll(@RequestBody ResumeExpireRequest request) {
+    if (Objects.isNull(request.getUuids())) {
+      return Flux.error(new BadRequestException("uuids is required."));
+    }
+    return resumeService.expireAll(request.getUuids())
+        .thenMany(resumeService.findByUuids(request.getUuids()))
+        .map(ResumeResponse::new);
+  }
+
   @PatchMapping("/{id}/expire")
   public Mono<ResumeResponse> expire(@PathVariable UUID id) {
     return resumeService.expire(id).map(ResumeResponse::new);
@@ -1,14 +1,11 @@
 package org.example.web.filter;
 
-import java.util.Objects;
+import java.util.Optional;
 import lombok.NonNull;
 import org.example.constant.ContextKeys;
 import org.example.constant.CookieKeys;
-import org.example.persistence.entity.Applicant;
-import org.example.persistence.entity.Company;
-import org.example.service.Base64Service;
-import org.example.service.JwtService;
 import org.example.service.ReactiveContextService;
+import org.example.service.TokenCacheService;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpCookie;
 import org.springframework.stereotype.Component;
@@ -21,21 +18,19 @@ import reactor.core.publisher.Mono;
 @Component
 public class AuthenticationWebFilter implements WebFilter {
 
-  private final JwtService jwtService;
-  private final Base64Service base64Service;
+  private final TokenCacheService tokenCacheService;
   private final ReactiveContextService reactiveContextService;
 
-  public AuthenticationWebFilter(JwtService jwtService, Base64Service base64Service,
+  public AuthenticationWebFilter(TokenCacheService tokenCacheService,
       ReactiveContextService reactiveContextService) {
-    this.jwtService = jwtService;
-    this.base64Service = base64Service;
+    this.tokenCacheService = tokenCacheService;
     this.reactiveContextService = reactiveContextService;
   }
 
   /**
    * 認証を行う
-   * OPTIONSメソッドの場合は認証を行わない
-   * auth.nonAuthPathsに含まれる場合は認証を行わない
+   * Cookieのデコードは遅延させ、ReactiveContextServiceで初めて参照されたときに行う
+   * そのため主体を参照しないリクエストではJWTの検証を行わない
    *
    * @param exchange サーバーとのやり取り
    * @param chain    フィルターチェーン
@@ -45,22 +40,16 @@ public class AuthenticationWebFilter implements WebFilter {
   @Override
   @NonNull
   public Mono<Void> filter(ServerWebExchange exchange, @NonNull WebFilterChain chain) {
-    Mono<Applicant> applicantMono = Mono.justOrEmpty(
+    Optional<String> applicantToken = Optional.ofNullable(
             exchange.getRequest().getCookies().getFirst(CookieKeys.APPLICANT_TOKEN))
-        .filter(Objects::nonNull)
-        .map(HttpCookie::getValue)
-        .map(base64Service::decode)
-        .map(jwtService::decodeApplicant);
-    Mono<Company> companyMono = Mono.justOrEmpty(
+        .map(HttpCookie::getValue);
+    Optional<String> companyToken = Optional.ofNullable(
             exchange.getRequest().getCookies().getFirst(CookieKeys.COMPANY_TOKEN))
-        .filter(Objects::nonNull)
-        .map(HttpCookie::getValue)
-        .map(base64Service::decode)
-        .map(jwtService::decodeCompany);
-    return applicantMono
-        .doOnNext(a -> reactiveContextService.setAttribute(exchange, ContextKeys.APPLICANT_KEY, a))
-        .then(companyMono)
-        .doOnNext(c -> reactiveContextService.setAttribute(exchange, ContextKeys.COMPANY_KEY, c))
-        .then(chain.filter(exchange));
+        .map(HttpCookie::getValue);
+    reactiveContextService.setLazyAttribute(exchange, ContextKeys.APPLICANT_KEY,
+        () -> applicantToken.map(tokenCacheService::decodeApplicant).orElse(null));
+    reactiveContextService.setLazyAttribute(exchange, ContextKeys.COMPANY_KEY,
+        () -> companyToken.map(tokenCacheService::decodeCompany).orElse(null));
+    return chain.filter(exchange);
   }
 }
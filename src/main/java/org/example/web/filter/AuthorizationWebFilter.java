@@ -1,9 +1,11 @@
 package org.example.web.filter;
 
+import java.util.Set;
 import lombok.NonNull;
 import org.example.constant.ContextKeys;
 import org.example.error.exception.ForbiddenException;
 import org.example.service.ReactiveContextService;
+import org.example.web.filter.RoutePermissionIndex.Principal;
 import org.springframework.core.annotation.Order;
 import org.springframework.http.HttpMethod;
 import org.springframework.stereotype.Component;
@@ -17,11 +19,24 @@ import reactor.core.publisher.Mono;
 public class AuthorizationWebFilter implements WebFilter {
 
   private final ReactiveContextService reactiveContextService;
+  private final RoutePermissionIndex routePermissionIndex;
 
-  public AuthorizationWebFilter(ReactiveContextService reactiveContextService) {
+  public AuthorizationWebFilter(ReactiveContextService reactiveContextService,
+      RoutePermissionIndex routePermissionIndex) {
     this.reactiveContextService = reactiveContextService;
+    this.routePermissionIndex = routePermissionIndex;
   }
 
+  /**
+   * 認可を行う
+   * OPTIONSメソッドの場合は認可を行わない
+   * 許可された主体を先に引き、該当する主体のCookieだけをデコードする
+   *
+   * @param exchange サーバーとのやり取り
+   * @param chain    フィルターチェーン
+   *
+   * @return 認可されたリクエストの処理結果
+   */
   @Override
   @NonNull
   public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
@@ -30,49 +45,18 @@ public class AuthorizationWebFilter implements WebFilter {
     if (HttpMethod.OPTIONS.equals(method)) {
       return chain.filter(exchange);
     }
-    if (HttpMethod.POST.equals(method) && (
-        path.startsWith("/api/v1/applicants") || path.startsWith("/api/v1/companies")) ||
-        path.startsWith("/api/v1/applicants/login") || path.startsWith("/api/v1/companies/login")) {
+    Set<Principal> principals = routePermissionIndex.lookup(method, path);
+    if (principals.contains(Principal.PUBLIC)) {
       return chain.filter(exchange);
     }
-    if (Boolean.TRUE.equals(reactiveContextService
-        .containsAttributes(exchange, ContextKeys.APPLICANT_KEY)) &&
-        Boolean.TRUE.equals(applicantHasPermission(method, path))) {
+    if (principals.contains(Principal.APPLICANT) && Boolean.TRUE.equals(reactiveContextService
+        .containsAttributes(exchange, ContextKeys.APPLICANT_KEY))) {
       return chain.filter(exchange);
     }
-    if (Boolean.TRUE.equals(reactiveContextService
-        .containsAttributes(exchange, ContextKeys.COMPANY_KEY)) &&
-        Boolean.TRUE.equals(companyHasPermission(method, path))) {
+    if (principals.contains(Principal.COMPANY) && Boolean.TRUE.equals(reactiveContextService
+        .containsAttributes(exchange, ContextKeys.COMPANY_KEY))) {
       return chain.filter(exchange);
     }
     return Mono.error(new ForbiddenException("認可されていません。"));
   }
-
-  private Boolean applicantHasPermission(HttpMethod method, String path) {
-    if (HttpMethod.GET.equals(method)) {
-      return Boolean.TRUE;
-    }
-    if (path.startsWith("/api/v1/resumes") || path.startsWith("/api/v1/applicants")) {
-      return Boolean.TRUE;
-    }
-    if (path.startsWith("/api/v1/offers/accepted") || path.startsWith("/api/v1/offers/rejected")) {
-      return Boolean.TRUE;
-    }
-    return Boolean.FALSE;
-  }
-
-  private Boolean companyHasPermission(HttpMethod method, String path) {
-    if (HttpMethod.GET.equals(method)) {
-      return Boolean.TRUE;
-    }
-    if (path.startsWith("/api/v1/companies")) {
-      return Boolean.TRUE;
-    }
-    if (path.startsWith("/api/v1/offers") ||
-        (!path.startsWith("/api/v1/offers/accepted"))
-        || !path.startsWith("/api/v1/offers/rejected")) {
-      return Boolean.TRUE;
-    }
-    return Boolean.FALSE;
-  }
-}
\ No newline at end of file
+}
@@ -0,0 +1,63 @@
+package org.example.web.filter;
+
+import java.net.InetSocketAddress;
+import java.util.Objects;
+import lombok.NonNull;
+import org.example.config.LoginRateLimitConfig;
+import org.example.error.exception.TooManyRequestsException;
+import org.example.service.LoginRateLimitService;
+import org.springframework.core.annotation.Order;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+import org.springframework.web.server.ServerWebExchange;
+import org.springframework.web.server.WebFilter;
+import org.springframework.web.server.WebFilterChain;
+import reactor.core.publisher.Mono;
+
+@Order(0)
+@Component
+public class LoginRateLimitWebFilter implements WebFilter {
+
+  private final LoginRateLimitService loginRateLimitService;
+  private final LoginRateLimitConfig loginRateLimitConfig;
+
+  public LoginRateLimitWebFilter(LoginRateLimitService loginRateLimitService,
+      LoginRateLimitConfig loginRateLimitConfig) {
+    this.loginRateLimitService = loginRateLimitService;
+    this.loginRateLimitConfig = loginRateLimitConfig;
+  }
+
+  /**
+   * ログインの試行回数をIPアドレスごとに制限する
+   * リクエストボディを読む前に断るため、上限を超えた試行ではパスワードの照合まで進まない
+   * emailごとの制限はボディを読んだ後にサービスで行う
+   *
+   * @param exchange サーバーとのやり取り
+   * @param chain    フィルターチェーン
+   *
+   * @return 制限内のリクエストの処理結果
+   */
+  @Override
+  @NonNull
+  public Mono<Void> filter(@NonNull ServerWebExchange exchange, @NonNull WebFilterChain chain) {
+    if (!HttpMethod.POST.equals(exchange.getRequest().getMethod())
+        || !loginRateLimitConfig.getPaths().contains(exchange.getRequest().getPath().value())) {
+      return chain.filter(exchange);
+    }
+    if (loginRateLimitService.exceededByIp(clientAddress(exchange))) {
+      return Mono.error(new TooManyRequestsException("Too many login attempts."));
+    }
+    return chain.filter(exchange);
+  }
+
+  private static String clientAddress(ServerWebExchange exchange) {
+    InetSocketAddress remoteAddress = exchange.getRequest().getRemoteAddress();
+    if (Objects.isNull(remoteAddress)) {
+      return "unknown";
+    }
+    if (Objects.isNull(remoteAddress.getAddress())) {
+      return remoteAddress.getHostString();
+    }
+    return remoteAddress.getAddress().getHostAddress();
+  }
+}
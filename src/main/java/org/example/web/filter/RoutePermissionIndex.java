@@ -0,0 +1,125 @@
+package org.example.web.filter;
+
+import java.util.EnumSet;
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import org.example.config.AuthConfig;
+import org.example.config.AuthConfig.PathAndMethod;
+import org.springframework.http.HttpMethod;
+import org.springframework.stereotype.Component;
+
+/**
+ * AuthConfigから起動時に構築する認可テーブル
+ * パスのセグメントを辿るトライ木で、リクエストを許可する主体を1回の探索で返す
+ */
+@Component
+public class RoutePermissionIndex {
+
+  private static final String ANY_METHOD = "*";
+  private static final String ANY_SEGMENT = "*";
+  private static final String ANY_SEGMENTS = "**";
+
+  public enum Principal {
+    PUBLIC, APPLICANT, COMPANY
+  }
+
+  private final Node root = new Node();
+
+  public RoutePermissionIndex(AuthConfig authConfig) {
+    register(authConfig.getNonAuthPaths(), Principal.PUBLIC);
+    register(authConfig.getApplicantPaths(), Principal.APPLICANT);
+    register(authConfig.getCompanyPaths(), Principal.COMPANY);
+  }
+
+  /**
+   * リクエストを許可する主体を返す
+   *
+   * @param method HTTPメソッド
+   * @param path   リクエストパス
+   *
+   * @return 許可する主体。どの主体にも許可されていない場合は空
+   */
+  public Set<Principal> lookup(HttpMethod method, String path) {
+    int mask = match(root, segments(path), 0, method.name());
+    EnumSet<Principal> principals = EnumSet.noneOf(Principal.class);
+    for (Principal principal : Principal.values()) {
+      if ((mask & bit(principal)) != 0) {
+        principals.add(principal);
+      }
+    }
+    return principals;
+  }
+
+  private void register(PathAndMethod[] rules, Principal principal) {
+    if (Objects.isNull(rules)) {
+      return;
+    }
+    for (PathAndMethod rule : rules) {
+      Node node = root;
+      for (String segment : segments(rule.getPath())) {
+        node = node.child(segment);
+        if (node.terminal) {
+          break;
+        }
+      }
+      String method = Objects.isNull(rule.getMethod()) ? ANY_METHOD : rule.getMethod().toUpperCase();
+      node.masks.merge(method, bit(principal), (a, b) -> a | b);
+    }
+  }
+
+  private int match(Node node, String[] segments, int index, String method) {
+    int mask = Objects.isNull(node.anySegments) ? 0 : node.anySegments.mask(method);
+    if (index == segments.length) {
+      return mask | node.mask(method);
+    }
+    Node literal = node.children.get(segments[index]);
+    if (Objects.nonNull(literal)) {
+      mask |= match(literal, segments, index + 1, method);
+    }
+    if (Objects.nonNull(node.anySegment)) {
+      mask |= match(node.anySegment, segments, index + 1, method);
+    }
+    return mask;
+  }
+
+  private static String[] segments(String path) {
+    String trimmed = path.startsWith("/") ? path.substring(1) : path;
+    return trimmed.isEmpty() ? new String[0] : trimmed.split("/");
+  }
+
+  private static int bit(Principal principal) {
+    return 1 << principal.ordinal();
+  }
+
+  private static class Node {
+
+    private final Map<String, Node> children = new HashMap<>();
+    private final Map<String, Integer> masks = new HashMap<>();
+    private Node anySegment;
+    private Node anySegments;
+    private boolean terminal;
+
+    Node child(String segment) {
+      if (ANY_SEGMENTS.equals(segment)) {
+        if (Objects.isNull(anySegments)) {
+          anySegments = new Node();
+          anySegments.terminal = true;
+        }
+        return anySegments;
+      }
+      if (ANY_SEGMENT.equals(segment)) {
+        if (Objects.isNull(anySegment)) {
+          anySegment = new Node();
+        }
+        return anySegment;
+      }
+      return children.computeIfAbsent(segment, s -> new Node());
+    }
+
+    int mask(String method) {
+      return masks.getOrDefault(method, 0) | masks.getOrDefault(ANY_METHOD, 0);
+    }
+  }
+}
@@ -0,0 +1,13 @@
+package org.example.web.request;
+
+import java.util.List;
+import java.util.UUID;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+
+@Data
+@NoArgsConstructor
+public class ResumeExpireRequest {
+
+  private List<UUID> uuids;
+}
@@ -5,7 +5,7 @@ import java.time.LocalDateTime;
 import java.util.UUID;
 import lombok.Getter;
 import org.example.constant.OfferStatus;
-import org.example.persistence.dto.OfferDetailView;
+import org.example.persistence.entity.Offer;
 
 @Getter
 public class OfferDetailResponse {
@@ -23,7 +23,7 @@ public class OfferDetailResponse {
   @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
   private final LocalDateTime updatedAt;
 
-  public OfferDetailResponse(OfferDetailView offer) {
+  public OfferDetailResponse(Offer offer) {
     this.uuid = offer.getUuid();
     this.resumeUuid = offer.getResumeUuid();
     this.companyUuid = offer.getCompanyUuid();
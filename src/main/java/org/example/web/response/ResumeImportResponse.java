@@ -0,0 +1,18 @@
+package org.example.web.response;
+
+import lombok.Getter;
+import org.example.persistence.dto.ResumeImportProgress;
+
+@Getter
+public class ResumeImportResponse {
+
+  private final long processed;
+  private final long imported;
+  private final long rejected;
+
+  public ResumeImportResponse(ResumeImportProgress progress) {
+    this.processed = progress.getProcessed();
+    this.imported = progress.getImported();
+    this.rejected = progress.getRejected();
+  }
+}
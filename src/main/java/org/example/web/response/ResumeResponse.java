@@ -22,6 +22,8 @@ public class ResumeResponse {
   private final Integer mintStatusId;
   private final Float minimumPrice;
   @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
+  private final LocalDateTime expiresAt;
+  @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
   private final LocalDateTime createdAt;
   @JsonFormat(pattern = "yyyy-MM-dd HH:mm:ss")
   private final LocalDateTime updatedAt;
@@ -39,6 +41,7 @@ public class ResumeResponse {
     this.mintStatus = MintStatus.valueOf(resume.getMintStatusId()).getName();
     this.mintStatusId = resume.getMintStatusId();
     this.minimumPrice = resume.getMinimumPrice();
+    this.expiresAt = resume.getExpiresAt();
     this.createdAt = resume.getCreatedAt();
     this.updatedAt = resume.getUpdatedAt();
     this.version = resume.getVersion();
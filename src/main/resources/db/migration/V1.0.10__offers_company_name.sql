@@ -0,0 +1,3 @@
+ALTER TABLE offers ADD COLUMN company_name VARCHAR(255);
+
+UPDATE offers SET company_name = (SELECT companies.name FROM companies WHERE companies.uuid = offers.company_uuid);
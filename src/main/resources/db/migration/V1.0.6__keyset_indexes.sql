@@ -0,0 +1,4 @@
+CREATE INDEX applicants_updated_at_id_index ON applicants (updated_at DESC, id DESC);
+CREATE INDEX companies_updated_at_id_index ON companies (updated_at DESC, id DESC);
+CREATE INDEX resumes_updated_at_id_index ON resumes (updated_at DESC, id DESC);
+CREATE INDEX offers_updated_at_id_index ON offers (updated_at DESC, id DESC);
@@ -0,0 +1,16 @@
+ALTER TABLE resumes ADD COLUMN expires_at TIMESTAMP;
+
+-- 既にミント済の履歴書にも期限を付け、掃除の対象にする。resume.expiry.ttlの既定値と同じ30日
+UPDATE resumes SET expires_at = updated_at + INTERVAL '30' DAY
+WHERE mint_status_id = 1 AND expires_at IS NULL;
+
+CREATE INDEX resumes_mint_status_id_expires_at_index ON resumes (mint_status_id, expires_at);
+
+CREATE TABLE scheduler_leases
+(
+    name VARCHAR(64) PRIMARY KEY,
+    owner VARCHAR(64),
+    expires_at TIMESTAMP NOT NULL DEFAULT CURRENT_TIMESTAMP
+);
+
+INSERT INTO scheduler_leases (name) VALUES ('resume-expiry');
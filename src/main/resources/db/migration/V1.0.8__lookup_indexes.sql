@@ -0,0 +1,3 @@
+CREATE INDEX offers_resume_uuid_status_id_updated_at_index ON offers (resume_uuid, status_id, updated_at);
+CREATE INDEX offers_company_uuid_index ON offers (company_uuid);
+CREATE INDEX resumes_applicant_uuid_index ON resumes (applicant_uuid);
@@ -0,0 +1 @@
+DROP VIEW IF EXISTS offer_detail_view;
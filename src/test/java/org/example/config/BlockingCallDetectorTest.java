@@ -0,0 +1,96 @@
+package org.example.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Objects;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class BlockingCallDetectorTest {
+
+  private final BlockingConfig blockingConfig = new BlockingConfig();
+  private final BlockingCallDetector blockingCallDetector =
+      new BlockingCallDetector(blockingConfig);
+  private Scheduler blockingScheduler;
+
+  @AfterEach
+  void tearDown() {
+    if (Objects.nonNull(blockingScheduler)) {
+      blockingScheduler.dispose();
+    }
+  }
+
+  private Mono<String> check(Scheduler scheduler) {
+    return Mono.fromCallable(() -> {
+          blockingCallDetector.check("Password hashing");
+          return Thread.currentThread().getName();
+        })
+        .subscribeOn(scheduler);
+  }
+
+  @Nested
+  class Check {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("blockingSchedulerのスレッドでは例外を投げない")
+      void blockingScheduler() {
+        // given
+        blockingConfig.setDetect(true);
+        blockingScheduler = new SchedulerConfig().blockingScheduler(blockingConfig);
+        // when, then
+        StepVerifier.create(check(blockingScheduler))
+            .assertNext(thread -> assertThat(thread).startsWith("blocking"))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("仮想スレッドのblockingSchedulerでも例外を投げない")
+      void virtualThreads() {
+        // given
+        blockingConfig.setDetect(true);
+        blockingConfig.setVirtualThreads(true);
+        blockingScheduler = new SchedulerConfig().blockingScheduler(blockingConfig);
+        // when, then
+        StepVerifier.create(check(blockingScheduler))
+            .assertNext(thread -> assertThat(thread).startsWith("blocking-"))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("blocking.detectが無効な場合はノンブロッキングのスレッドでも例外を投げない")
+      void disabled() {
+        // when, then
+        StepVerifier.create(check(Schedulers.parallel()))
+            .expectNextCount(1)
+            .verifyComplete();
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("ノンブロッキングのスレッドで呼ばれた場合は例外を投げる")
+      void nonBlockingThread() {
+        // given
+        blockingConfig.setDetect(true);
+        // when, then
+        StepVerifier.create(check(Schedulers.parallel()))
+            .expectErrorMatches(e -> e instanceof IllegalStateException
+                && e.getMessage().startsWith("Password hashing must not run"))
+            .verify();
+      }
+    }
+  }
+}
@@ -0,0 +1,146 @@
+package org.example.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doReturn;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactory;
+import io.r2dbc.spi.Result;
+import io.r2dbc.spi.Statement;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.config.BeanPostProcessor;
+import org.springframework.beans.factory.support.DefaultListableBeanFactory;
+import org.springframework.r2dbc.core.DatabaseClient;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class ConnectionFactoryConfigTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private final BeanPostProcessor postProcessor;
+
+  ConnectionFactoryConfigTest() {
+    DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+    beanFactory.registerSingleton("meterRegistry", meterRegistry);
+    postProcessor = ConnectionFactoryConfig.timedConnectionFactoryPostProcessor(
+        beanFactory.getBeanProvider(MeterRegistry.class));
+  }
+
+  @Nested
+  class TimedConnectionFactoryPostProcessor {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("ConnectionPoolをTimedConnectionFactoryで包み、Actuatorと同じnameタグを付ける")
+      void wrapsPool() {
+        // given
+        ConnectionPool pool = mock(ConnectionPool.class);
+        // when
+        Object actual = postProcessor.postProcessAfterInitialization(pool, "connectionFactory");
+        // then
+        assertThat(actual).isInstanceOfSatisfying(TimedConnectionFactory.class,
+            timed -> assertThat(timed.unwrap()).isSameAs(pool));
+        assertThat(meterRegistry.get("r2dbc.pool.acquire").tag("name", "connectionFactory")
+            .timers()).hasSize(2);
+      }
+
+      @Test
+      @DisplayName("ConnectionPool以外のBeanはそのまま返す")
+      void keepsOthers() {
+        // given
+        ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+        // when
+        Object actual = postProcessor.postProcessAfterInitialization(connectionFactory,
+            "connectionFactory");
+        // then
+        assertThat(actual).isSameAs(connectionFactory);
+      }
+
+      @Test
+      @DisplayName("nameタグはBean名の末尾のConnectionFactoryを除いたものにする")
+      void poolName() {
+        // when, then
+        assertThat(ConnectionFactoryConfig.poolName("connectionFactory"))
+            .isEqualTo("connectionFactory");
+        assertThat(ConnectionFactoryConfig.poolName("reportingConnectionFactory"))
+            .isEqualTo("reporting");
+      }
+    }
+  }
+
+  @Nested
+  class FetchSizeDatabaseClientPostProcessor {
+
+    private final ConnectionFactory connectionFactory = mock(ConnectionFactory.class);
+    private final Statement statement = mock(Statement.class);
+
+    FetchSizeDatabaseClientPostProcessor() {
+      Connection connection = mock(Connection.class);
+      Result result = mock(Result.class);
+      when(connectionFactory.getMetadata()).thenReturn(() -> "H2");
+      doReturn(Mono.just(connection)).when(connectionFactory).create();
+      when(connection.createStatement(anyString())).thenReturn(statement);
+      doReturn(Mono.empty()).when(connection).close();
+      when(statement.fetchSize(anyInt())).thenReturn(statement);
+      doReturn(Flux.just(result)).when(statement).execute();
+      doReturn(Mono.just(1L)).when(result).getRowsUpdated();
+    }
+
+    private DatabaseClient postProcess(FetchSizeConfig fetchSizeConfig) {
+      DefaultListableBeanFactory beanFactory = new DefaultListableBeanFactory();
+      beanFactory.registerSingleton("fetchSizeConfig", fetchSizeConfig);
+      return (DatabaseClient) ConnectionFactoryConfig.fetchSizeDatabaseClientPostProcessor(
+              beanFactory.getBeanProvider(FetchSizeConfig.class))
+          .postProcessAfterInitialization(DatabaseClient.create(connectionFactory),
+              "r2dbcDatabaseClient");
+    }
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("default-sizeを指定した場合は全てのステートメントに取得行数を設定する")
+      void appliesFetchSize() {
+        // given
+        FetchSizeConfig fetchSizeConfig = new FetchSizeConfig();
+        fetchSizeConfig.setDefaultSize(250);
+        DatabaseClient databaseClient = postProcess(fetchSizeConfig);
+        // when
+        Mono<Long> actual = databaseClient.sql("UPDATE offers SET status_id = 0")
+            .fetch().rowsUpdated();
+        // then
+        StepVerifier.create(actual).expectNext(1L).verifyComplete();
+        verify(statement).fetchSize(250);
+      }
+
+      @Test
+      @DisplayName("default-sizeが0の場合はドライバーの設定に任せる")
+      void keepsDriverDefault() {
+        // given
+        DatabaseClient databaseClient = postProcess(new FetchSizeConfig());
+        // when
+        Mono<Long> actual = databaseClient.sql("UPDATE offers SET status_id = 0")
+            .fetch().rowsUpdated();
+        // then
+        StepVerifier.create(actual).expectNext(1L).verifyComplete();
+        verify(statement, never()).fetchSize(anyInt());
+      }
+    }
+  }
+}
@@ -0,0 +1,158 @@
+package org.example.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+import java.time.Duration;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.bcrypt.BCryptPasswordEncoder;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+import reactor.test.StepVerifier;
+
+class PasswordEncoderConfigTest {
+
+  private final PasswordEncoderConfig passwordEncoderConfig = new PasswordEncoderConfig();
+  private final BlockingConfig blockingConfig = new BlockingConfig();
+  private final BlockingCallDetector blockingCallDetector =
+      new BlockingCallDetector(blockingConfig);
+
+  private static PasswordHashingConfig config(String algorithm, int bcryptCost) {
+    PasswordHashingConfig config = new PasswordHashingConfig();
+    config.setAlgorithm(algorithm);
+    config.setCalibrate(false);
+    config.getBcrypt().setCost(bcryptCost);
+    config.getPbkdf2().setIterations(1000);
+    return config;
+  }
+
+  @Nested
+  class PasswordEncoderBean {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("アルゴリズムのIDを接頭辞に付けてハッシュ化し、照合できる")
+      void prefixed() {
+        // given
+        PasswordEncoder passwordEncoder =
+            passwordEncoderConfig.passwordEncoder(config("bcrypt", 4), blockingCallDetector);
+        // when
+        String digest = passwordEncoder.encode("password");
+        // then
+        assertThat(digest).startsWith("{bcrypt}$2a$04$");
+        assertThat(passwordEncoder.matches("password", digest)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(digest)).isFalse();
+      }
+
+      @Test
+      @DisplayName("接頭辞のない既存のハッシュ値はBCryptとして照合し、再ハッシュの対象にする")
+      void legacy() {
+        // given
+        PasswordEncoder passwordEncoder =
+            passwordEncoderConfig.passwordEncoder(config("bcrypt", 4), blockingCallDetector);
+        String legacy = new BCryptPasswordEncoder(4).encode("password");
+        // when, then
+        assertThat(passwordEncoder.matches("password", legacy)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(legacy)).isTrue();
+      }
+
+      @Test
+      @DisplayName("現在のコストより弱いハッシュ値は再ハッシュの対象にする")
+      void weakerCost() {
+        // given
+        String weaker = passwordEncoderConfig
+            .passwordEncoder(config("bcrypt", 4), blockingCallDetector)
+            .encode("password");
+        PasswordEncoder passwordEncoder =
+            passwordEncoderConfig.passwordEncoder(config("bcrypt", 5), blockingCallDetector);
+        // when, then
+        assertThat(passwordEncoder.matches("password", weaker)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(weaker)).isTrue();
+      }
+
+      @Test
+      @DisplayName("アルゴリズムを切り替えても既存のハッシュ値を照合でき、再ハッシュの対象にする")
+      void switchedAlgorithm() {
+        // given
+        String bcrypt = passwordEncoderConfig
+            .passwordEncoder(config("bcrypt", 4), blockingCallDetector)
+            .encode("password");
+        PasswordEncoder passwordEncoder =
+            passwordEncoderConfig.passwordEncoder(config("pbkdf2", 4), blockingCallDetector);
+        // when
+        String digest = passwordEncoder.encode("password");
+        // then
+        assertThat(digest).startsWith("{pbkdf2}");
+        assertThat(passwordEncoder.matches("password", bcrypt)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(bcrypt)).isTrue();
+        assertThat(passwordEncoder.upgradeEncoding(digest)).isFalse();
+      }
+
+      @Test
+      @DisplayName("目標時間が下限のコストより短い場合は下限のコストを選ぶ")
+      void calibratedToMinCost() {
+        // given
+        PasswordHashingConfig config = config("bcrypt", 10);
+        config.setCalibrate(true);
+        config.setTargetTime(Duration.ofNanos(1));
+        config.getBcrypt().setMinCost(4);
+        config.getBcrypt().setMaxCost(6);
+        // when
+        String digest = passwordEncoderConfig.passwordEncoder(config, blockingCallDetector)
+            .encode("password");
+        // then
+        assertThat(digest).startsWith("{bcrypt}$2a$04$");
+      }
+
+      @Test
+      @DisplayName("目標時間が上限のコストより長い場合は上限のコストを選ぶ")
+      void calibratedToMaxCost() {
+        // given
+        PasswordHashingConfig config = config("bcrypt", 10);
+        config.setCalibrate(true);
+        config.setTargetTime(Duration.ofMinutes(1));
+        config.getBcrypt().setMinCost(4);
+        config.getBcrypt().setMaxCost(6);
+        // when
+        String digest = passwordEncoderConfig.passwordEncoder(config, blockingCallDetector)
+            .encode("password");
+        // then
+        assertThat(digest).startsWith("{bcrypt}$2a$06$");
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("blocking.detectが有効な場合、イベントループでハッシュ計算すると例外を投げる")
+      void detectsBlockingCall() {
+        // given
+        blockingConfig.setDetect(true);
+        PasswordEncoder passwordEncoder =
+            passwordEncoderConfig.passwordEncoder(config("bcrypt", 4), blockingCallDetector);
+        // when
+        Mono<String> actual = Mono.fromCallable(() -> passwordEncoder.encode("password"))
+            .subscribeOn(Schedulers.parallel());
+        // then
+        StepVerifier.create(actual).expectError(IllegalStateException.class).verify();
+      }
+
+      @Test
+      @DisplayName("未対応のアルゴリズムを指定した場合は起動できない")
+      void unknownAlgorithm() {
+        // when, then
+        assertThatThrownBy(() ->
+            passwordEncoderConfig.passwordEncoder(config("md5", 4), blockingCallDetector))
+            .isInstanceOf(IllegalArgumentException.class);
+      }
+    }
+  }
+}
@@ -0,0 +1,84 @@
+package org.example.config;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import io.r2dbc.pool.ConnectionPool;
+import io.r2dbc.pool.ConnectionPoolConfiguration;
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.ConnectionFactories;
+import java.time.Duration;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+class TimedConnectionFactoryTest {
+
+  private final SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+  private TimedConnectionFactory connectionFactory;
+
+  @BeforeEach
+  void setUp() {
+    ConnectionPool pool = new ConnectionPool(ConnectionPoolConfiguration
+        .builder(ConnectionFactories.get("r2dbc:h2:mem:///pool_test;DB_CLOSE_DELAY=-1"))
+        .initialSize(2)
+        .maxSize(2)
+        .maxAcquireTime(Duration.ofMillis(200))
+        .build());
+    connectionFactory = new TimedConnectionFactory(pool, meterRegistry, "connectionFactory");
+  }
+
+  @AfterEach
+  void tearDown() {
+    connectionFactory.dispose();
+  }
+
+  @Nested
+  class Create {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("事前に確立した接続を貸し出し、取得時間を記録する")
+      void recordsAcquire() {
+        // when, then
+        StepVerifier.create(connectionFactory.unwrap().warmup()).expectNext(2).verifyComplete();
+        StepVerifier.create(Mono.usingWhen(connectionFactory.create(), Mono::just,
+                Connection::close))
+            .expectNextCount(1)
+            .verifyComplete();
+        assertThat(connectionFactory.unwrap().getMetrics())
+            .hasValueSatisfying(metrics -> assertThat(metrics.allocatedSize()).isEqualTo(2));
+        Timer timer = meterRegistry.get("r2dbc.pool.acquire")
+            .tags("name", "connectionFactory", "outcome", "success").timer();
+        assertThat(timer.count()).isEqualTo(1);
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("プールが枯渇して取得できない場合は失敗として記録する")
+      void recordsFailure() {
+        // given
+        Connection first = connectionFactory.create().block();
+        Connection second = connectionFactory.create().block();
+        // when, then
+        StepVerifier.create(connectionFactory.create()).expectError().verify();
+        Timer timer = meterRegistry.get("r2dbc.pool.acquire")
+            .tags("name", "connectionFactory", "outcome", "failure").timer();
+        assertThat(timer.count()).isEqualTo(1);
+        Mono.from(first.close()).then(Mono.from(second.close())).block();
+      }
+    }
+  }
+}
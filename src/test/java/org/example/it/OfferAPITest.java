@@ -9,7 +9,6 @@ import org.example.Main;
 import org.example.constant.CookieKeys;
 import org.example.error.response.ErrorResponse;
 import org.example.listener.FlywayTestExecutionListener;
-import org.example.persistence.dto.OfferDetailView;
 import org.example.persistence.entity.Applicant;
 import org.example.persistence.entity.Company;
 import org.example.persistence.entity.Offer;
@@ -193,11 +192,11 @@ public class OfferAPITest {
             .cookie(CookieKeys.APPLICANT_TOKEN, jwt)
             .exchange()
             .expectStatus().isOk()
-            .expectBodyList(OfferDetailView.class)
+            .expectBodyList(Offer.class)
             .consumeWith(result ->
                 assertThat(result.getResponseBody())
-                    .extracting(OfferDetailView::getUuid, OfferDetailView::getResumeUuid, OfferDetailView::getCompanyUuid,
-                        OfferDetailView::getPrice, OfferDetailView::getMessage, OfferDetailView::getStatusId)
+                    .extracting(Offer::getUuid, Offer::getResumeUuid, Offer::getCompanyUuid,
+                        Offer::getPrice, Offer::getMessage, Offer::getStatusId)
                     .containsExactly(
                         tuple(UUID.fromString("12345678-1234-5678-1234-123456789abc"),
                         UUID.fromString("12345678-1234-5678-1234-123456789abc"),
@@ -0,0 +1,263 @@
+package org.example.it;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import io.r2dbc.spi.Connection;
+import io.r2dbc.spi.Result;
+import io.zonky.test.db.postgres.embedded.EmbeddedPostgres;
+import java.io.IOException;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.UUID;
+import java.util.regex.Matcher;
+import java.util.regex.Pattern;
+import org.example.Main;
+import org.example.constant.MintStatus;
+import org.example.constant.OfferStatus;
+import org.example.persistence.entity.Offer;
+import org.example.persistence.repository.OfferRepository;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.condition.EnabledIfSystemProperty;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.r2dbc.repository.Query;
+import org.springframework.r2dbc.core.DatabaseClient;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.DynamicPropertyRegistry;
+import org.springframework.test.context.DynamicPropertySource;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+/**
+ * postgresプロファイルを埋め込みPostgreSQLに向けて、H2では確かめられない挙動を検証する
+ * PostgreSQLのバイナリを起動するため、-Dpostgres=true (mvn test -Ppostgres) を指定した場合だけ実行する
+ */
+@SpringBootTest(classes = Main.class)
+@ActiveProfiles("postgres")
+@EnabledIfSystemProperty(named = "postgres", matches = "true")
+class PostgresCompatibilityTest {
+
+  private static final Pattern PARAMETER = Pattern.compile("(?<!:):(\\w+)");
+  private static final String UUIDS =
+      "'12345678-1234-5678-1234-123456789abc', '12345678-1234-5678-1234-123456789abd'";
+  private static final String TIMESTAMP = "TIMESTAMP '2024-01-01 00:00:00'";
+  private static final Map<String, String> SAMPLES = Map.ofEntries(
+      Map.entry("id", "1"),
+      Map.entry("limit", "20"),
+      Map.entry("uuid", "'12345678-1234-5678-1234-123456789abc'"),
+      Map.entry("offerUuid", "'12345678-1234-5678-1234-123456789abc'"),
+      Map.entry("resumeUuid", "'12345678-1234-5678-1234-123456789abc'"),
+      Map.entry("uuids", UUIDS),
+      Map.entry("resumeUuids", UUIDS),
+      Map.entry("resumeMintStatusId", String.valueOf(MintStatus.EXPIRED.getId())),
+      Map.entry("companyUuids", UUIDS),
+      Map.entry("statusId", String.valueOf(OfferStatus.REJECTED.getId())),
+      Map.entry("expectedStatusId", String.valueOf(OfferStatus.PENDING.getId())),
+      Map.entry("pendingStatusId", String.valueOf(OfferStatus.PENDING.getId())),
+      Map.entry("rejectedStatusId", String.valueOf(OfferStatus.REJECTED.getId())),
+      Map.entry("mintStatusId", String.valueOf(MintStatus.PUBLISHED.getId())),
+      Map.entry("expectedMintStatusId", String.valueOf(MintStatus.PUBLISHED.getId())),
+      Map.entry("updatedAt", TIMESTAMP),
+      Map.entry("now", TIMESTAMP),
+      Map.entry("expiresAt", TIMESTAMP),
+      Map.entry("name", "'resume-expiry'"),
+      Map.entry("owner", "'owner'"),
+      Map.entry("passwordDigest", "'{bcrypt}digest'"),
+      Map.entry("expectedPasswordDigest", "'{bcrypt}digest'"));
+
+  private static EmbeddedPostgres postgres;
+
+  @Autowired
+  private OfferRepository offerRepository;
+  @Autowired
+  private DatabaseClient databaseClient;
+
+  @DynamicPropertySource
+  static void postgresProperties(DynamicPropertyRegistry registry) throws IOException {
+    postgres = EmbeddedPostgres.start();
+    registry.add("spring.r2dbc.url",
+        () -> "r2dbc:postgresql://localhost:%d/postgres".formatted(postgres.getPort()));
+    registry.add("spring.r2dbc.username", () -> "postgres");
+    registry.add("spring.r2dbc.password", () -> "postgres");
+    registry.add("spring.flyway.url", () -> postgres.getJdbcUrl("postgres", "postgres"));
+    registry.add("spring.flyway.user", () -> "postgres");
+    registry.add("spring.flyway.password", () -> "postgres");
+  }
+
+  @AfterAll
+  static void tearDown() throws IOException {
+    postgres.close();
+  }
+
+  private static Mono<Void> execute(Connection connection, String sql) {
+    return Flux.from(connection.createStatement(sql).execute())
+        .flatMap(Result::getRowsUpdated)
+        .then();
+  }
+
+  /**
+   * 全件走査を選ばせないようにしてEXPLAINした実行計画を返す
+   * インデックスで引けるクエリなら、全件走査より高くついてもインデックスを使う計画になる
+   */
+  private Mono<String> explain(String sql) {
+    return databaseClient.inConnection(connection ->
+        execute(connection, "SET enable_seqscan = off")
+            .thenMany(Flux.from(connection.createStatement("EXPLAIN " + sql).execute())
+                .flatMap(result -> result.map((row, metadata) -> row.get(0, String.class))))
+            .collectList()
+            .map(lines -> String.join("\n", lines))
+            .flatMap(plan -> execute(connection, "RESET enable_seqscan").thenReturn(plan)));
+  }
+
+  /**
+   * リポジトリのメソッドに付けた@QueryのSQLを取り出し、名前付きパラメーターを見本の値に置き換える
+   */
+  private static String query(Class<?> repository, String method) {
+    String sql = Arrays.stream(repository.getMethods())
+        .filter(candidate -> candidate.getName().equals(method))
+        .map(candidate -> candidate.getAnnotation(Query.class))
+        .filter(Objects::nonNull)
+        .findFirst()
+        .orElseThrow()
+        .value();
+    return PARAMETER.matcher(sql).replaceAll(match -> {
+      String value = SAMPLES.get(match.group(1));
+      assertThat(value).as("見本の値がないパラメーター: %s", match.group(1)).isNotNull();
+      return Matcher.quoteReplacement(value);
+    });
+  }
+
+  @Nested
+  class OfferQueries {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("キーセットページネーションで重複なく全件を辿れる")
+      void keysetPagination() {
+        // when
+        Flux<Offer> actual = offerRepository.findFirstPage(2).collectList()
+            .flatMapMany(page -> {
+              Offer last = page.get(page.size() - 1);
+              return Flux.fromIterable(page).concatWith(
+                  offerRepository.findPageAfter(last.getUpdatedAt(), last.getId(), 2));
+            });
+        // then
+        StepVerifier.create(actual.map(Offer::getUuid))
+            .recordWith(ArrayList::new)
+            .expectNextCount(3)
+            .consumeRecordedWith(uuids -> assertThat(uuids).doesNotHaveDuplicates())
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("まとめて登録したオファーに採番したIDを返す")
+      void insertAll() {
+        // given
+        Offer offer = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-5678-1234-123456789ac0"))
+            .resumeUuid(UUID.fromString("12345678-1234-5678-1234-123456789abd"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .companyName("株式会社A").price(0.02F).statusId(0).build();
+        // when
+        Flux<Offer> actual = offerRepository.insertAll(List.of(offer))
+            .concatWith(offerRepository.deleteByUuid(offer.getUuid()).then(Mono.empty()));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(inserted -> assertThat(inserted.getId()).isNotNull())
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("ステータスの条件付き更新は更新後の行をRETURNINGで返す")
+      void updateStatusReturning() {
+        // given
+        UUID uuid = UUID.fromString("12345678-1234-5678-1234-123456789abe");
+        LocalDateTime now = LocalDateTime.of(2024, 1, 1, 0, 0);
+        // when
+        Mono<Offer> actual = offerRepository.updateStatusByUuidAndStatusId(uuid, 0, 1, now)
+            .flatMap(updated -> offerRepository.updateStatusByUuidAndStatusId(uuid, 1, 0, now)
+                .thenReturn(updated));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, Offer::getStatusId, Offer::getUpdatedAt)
+                .containsExactly(uuid, 1, now))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("履歴書ごとのオファー一覧は複合インデックスで引ける")
+      void offersByResumeUseIndex() {
+        // when
+        Mono<String> actual = explain("""
+            SELECT * FROM offers
+            WHERE resume_uuid = '12345678-1234-5678-1234-123456789abc'
+            ORDER BY status_id, updated_at
+            """);
+        // then
+        StepVerifier.create(actual)
+            .assertNext(plan -> assertThat(plan)
+                .contains("offers_resume_uuid_status_id_updated_at_index"))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  class QueryPlan {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @ParameterizedTest(name = "{0}#{1}")
+      @DisplayName("リポジトリの@Queryは全件走査しない")
+      @CsvSource({
+          "org.example.persistence.repository.ApplicantRepository, findFirstPage",
+          "org.example.persistence.repository.ApplicantRepository, findPageAfter",
+          "org.example.persistence.repository.ApplicantRepository, updatePasswordDigestById",
+          "org.example.persistence.repository.CompanyRepository, findFirstPage",
+          "org.example.persistence.repository.CompanyRepository, findPageAfter",
+          "org.example.persistence.repository.CompanyRepository, updatePasswordDigestById",
+          "org.example.persistence.repository.ResumeRepository, findFirstPage",
+          "org.example.persistence.repository.ResumeRepository, findPageAfter",
+          "org.example.persistence.repository.ResumeRepository, findDueUuids",
+          "org.example.persistence.repository.ResumeRepository, "
+              + "updateMintStatusByUuidInAndMintStatusId",
+          "org.example.persistence.repository.OfferRepository, findFirstPage",
+          "org.example.persistence.repository.OfferRepository, findPageAfter",
+          "org.example.persistence.repository.OfferRepository, findAndLockSiblingsByUuid",
+          "org.example.persistence.repository.OfferRepository, updateStatusByUuid",
+          "org.example.persistence.repository.OfferRepository, "
+              + "updateStatusByResumeUuidInAndStatusId",
+          "org.example.persistence.repository.OfferRepository, "
+              + "refreshCompanyNameByCompanyUuidIn",
+          "org.example.persistence.repository.OfferRepository, "
+              + "refreshStaleCompanyNamesByCompanyUuidIn",
+          "org.example.persistence.repository.OfferRepository, rejectCheaper",
+          "org.example.persistence.repository.SchedulerLeaseRepository, acquire",
+      })
+      void usesIndex(Class<?> repository, String method) {
+        // when
+        Mono<String> actual = explain(query(repository, method));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(plan -> assertThat(plan).doesNotContain("Seq Scan"))
+            .verifyComplete();
+      }
+    }
+  }
+}
@@ -10,6 +10,7 @@ import org.example.constant.CookieKeys;
 import org.example.error.response.ErrorResponse;
 import org.example.listener.FlywayTestExecutionListener;
 import org.example.persistence.entity.Applicant;
+import org.example.persistence.entity.Offer;
 import org.example.persistence.entity.Resume;
 import org.example.service.Base64Service;
 import org.example.service.JwtService;
@@ -23,6 +24,7 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.client.AutoConfigureWebClient;
 import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.MediaType;
 import org.springframework.test.context.TestExecutionListeners;
 import org.springframework.test.web.reactive.server.WebTestClient;
@@ -379,6 +381,37 @@ public class ResumeAPITest {
     }
   }
 
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class Expire {
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("ミント済でない履歴書は409で、届いたオファーも申請中のまま残る")
+      void notPublished() {
+        // when, then
+        webTestClient.patch()
+            .uri("/api/v1/resumes/12345678-1234-5678-1234-123456789abc/expire")
+            .cookie(CookieKeys.APPLICANT_TOKEN, jwt)
+            .exchange()
+            .expectStatus().isEqualTo(HttpStatus.CONFLICT);
+        webTestClient.get()
+            .uri("/api/v1/offers/12345678-1234-5678-1234-123456789abc")
+            .cookie(CookieKeys.APPLICANT_TOKEN, jwt)
+            .exchange()
+            .expectStatus().isOk()
+            .expectBody(Offer.class)
+            .consumeWith(result ->
+                assertThat(result.getResponseBody().getStatusId()).isEqualTo(0));
+      }
+    }
+  }
+
   @Nested
   @TestExecutionListeners(
       listeners = {FlywayTestExecutionListener.class},
@@ -2,6 +2,7 @@ package org.example.persistence.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import org.example.listener.FlywayTestExecutionListener;
 import org.example.persistence.entity.Applicant;
@@ -147,6 +148,48 @@ class ApplicantRepositoryTest {
     }
   }
 
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class updatePasswordDigestById {
+
+    private static final String DIGEST =
+        "$2a$10$d3K9jDtqZ3Hi44S6ByqUxuZszfQuCNHSob2Cl/k2ZoIReIcTSldUu";
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("読み込んだときのハッシュ値のままであれば差し替えられること")
+      void replaced() {
+        // when
+        Mono<Applicant> actual = applicantRepository.findByEmail("xxx@example.org")
+            .flatMap(present -> applicantRepository
+                .updatePasswordDigestById(present.getId(), DIGEST, "{bcrypt}new")
+                .then(applicantRepository.findByEmail("xxx@example.org")));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(applicant -> assertThat(applicant)
+                .extracting(Applicant::getPasswordDigest, Applicant::getUpdatedAt)
+                .containsExactly("{bcrypt}new", LocalDateTime.of(2024, 1, 1, 0, 0)))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("別のリクエストがハッシュ値を変えていた場合は差し替えないこと")
+      void stale() {
+        // when
+        Mono<Integer> actual = applicantRepository.findByEmail("xxx@example.org")
+            .flatMap(present -> applicantRepository
+                .updatePasswordDigestById(present.getId(), "{bcrypt}stale", "{bcrypt}new"));
+        // then
+        StepVerifier.create(actual).expectNext(0).verifyComplete();
+      }
+    }
+  }
+
   @Nested
   @TestExecutionListeners(
       listeners = {FlywayTestExecutionListener.class},
@@ -2,6 +2,7 @@ package org.example.persistence.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
 import org.example.listener.FlywayTestExecutionListener;
 import org.example.persistence.entity.Company;
@@ -81,6 +82,28 @@ class CompanyRepositoryTest {
     }
   }
 
+  @Nested
+  class findAllUuids {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("全ての企業のUUIDをid順に取得できること")
+      void findAllUuids() {
+        // when
+        Flux<UUID> actual = companyRepository.findAllUuids();
+        // then
+        StepVerifier.create(actual)
+            .expectNext(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+                UUID.fromString("12345678-1234-1234-1234-123456789abd"),
+                UUID.fromString("12345678-1234-1234-1234-123456789abe"))
+            .verifyComplete();
+      }
+    }
+  }
+
   @Nested
   class findByEmail {
 
@@ -135,6 +158,48 @@ class CompanyRepositoryTest {
     }
   }
 
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class updatePasswordDigestById {
+
+    private static final String DIGEST =
+        "$2a$10$d3K9jDtqZ3Hi44S6ByqUxuZszfQuCNHSob2Cl/k2ZoIReIcTSldUu";
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("読み込んだときのハッシュ値のままであれば差し替えられること")
+      void replaced() {
+        // when
+        Mono<Company> actual = companyRepository.findByEmail("xxx@example.org")
+            .flatMap(present -> companyRepository
+                .updatePasswordDigestById(present.getId(), DIGEST, "{bcrypt}new")
+                .then(companyRepository.findByEmail("xxx@example.org")));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(company -> assertThat(company)
+                .extracting(Company::getPasswordDigest, Company::getUpdatedAt)
+                .containsExactly("{bcrypt}new", LocalDateTime.of(2024, 1, 1, 0, 0)))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("別のリクエストがハッシュ値を変えていた場合は差し替えないこと")
+      void stale() {
+        // when
+        Mono<Integer> actual = companyRepository.findByEmail("xxx@example.org")
+            .flatMap(present -> companyRepository
+                .updatePasswordDigestById(present.getId(), "{bcrypt}stale", "{bcrypt}new"));
+        // then
+        StepVerifier.create(actual).expectNext(0).verifyComplete();
+      }
+    }
+  }
+
   @Nested
   @TestExecutionListeners(
       listeners = {FlywayTestExecutionListener.class},
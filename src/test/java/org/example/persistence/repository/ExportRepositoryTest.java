@@ -0,0 +1,75 @@
+package org.example.persistence.repository;
+
+import java.time.LocalDateTime;
+import java.util.UUID;
+import org.example.config.FetchSizeConfig;
+import org.example.persistence.dto.ExportFilter;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.context.annotation.Import;
+import reactor.core.publisher.Flux;
+import reactor.test.StepVerifier;
+
+@DataR2dbcTest
+@Import({ExportRepository.class, FetchSizeConfig.class})
+class ExportRepositoryTest {
+
+  @Autowired
+  ExportRepository exportRepository;
+
+  @Nested
+  class exportResumes {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("更新日時の範囲で絞り込み、ID順に返すこと")
+      void filterByUpdatedAt() {
+        // when
+        Flux<UUID> actual = exportRepository.exportResumes(
+            new ExportFilter(null, LocalDateTime.of(2024, 1, 2, 0, 0), null),
+            row -> row.get(1, UUID.class));
+        // then
+        StepVerifier.create(actual)
+            .expectNext(UUID.fromString("12345678-1234-5678-1234-123456789abe"))
+            .expectNext(UUID.fromString("12345678-1234-5678-1234-123456789abd"))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("ステータスで絞り込み、RESUME_COLUMNSの順に列を返すこと")
+      void filterByStatus() {
+        // when
+        Flux<String> actual = exportRepository.exportResumes(
+            new ExportFilter(1, null, LocalDateTime.of(2024, 1, 3, 0, 0)),
+            row -> row.get(3, String.class));
+        // then
+        StepVerifier.create(actual).expectNext("2020年 B大学卒業").verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  class exportOffers {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("条件がない場合は全件を返すこと")
+      void exportAll() {
+        // when
+        Flux<String> actual = exportRepository.exportOffers(new ExportFilter(),
+            row -> row.get(6, String.class));
+        // then
+        StepVerifier.create(actual).expectNextCount(3).verifyComplete();
+      }
+    }
+  }
+}
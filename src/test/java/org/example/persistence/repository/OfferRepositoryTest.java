@@ -2,6 +2,9 @@ package org.example.persistence.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDateTime;
+import java.util.Comparator;
+import java.util.List;
 import java.util.UUID;
 import org.example.listener.FlywayTestExecutionListener;
 import org.example.persistence.entity.Offer;
@@ -11,6 +14,7 @@ import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
 import org.springframework.data.domain.Sort;
+import org.springframework.r2dbc.core.DatabaseClient;
 import org.springframework.test.context.TestExecutionListeners;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -21,6 +25,8 @@ class OfferRepositoryTest {
 
   @Autowired
   OfferRepository offerRepository;
+  @Autowired
+  DatabaseClient databaseClient;
 
   @Nested
   class findAll {
@@ -90,6 +96,315 @@ class OfferRepositoryTest {
     }
   }
 
+  @Nested
+  class findPage {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("先頭ページを更新日時とIDの降順で取得できること")
+      void findFirstPage() {
+        // when
+        Flux<Offer> actual = offerRepository.findFirstPage(2);
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-5678-1234-123456789abc")))
+            .assertNext(offer -> assertThat(offer.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-5678-1234-123456789abd")))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("カーソルより後ろのページを取得できること")
+      void findPageAfter() {
+        // when
+        Flux<Offer> actual = offerRepository.findFirstPage(2)
+            .last()
+            .flatMapMany(last -> offerRepository
+                .findPageAfter(last.getUpdatedAt(), last.getId(), 2));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-5678-1234-123456789abe")))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  class findAndLockSiblingsByUuid {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("同じ履歴書のオファーを取得できること")
+      void findAndLockSiblingsByUuid() {
+        // when
+        Flux<Offer> actual = offerRepository.findAndLockSiblingsByUuid(
+            UUID.fromString("12345678-1234-5678-1234-123456789abc"));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, Offer::getResumeUuid)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789abc"),
+                    UUID.fromString("12345678-1234-5678-1234-123456789abc")))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class updateStatus {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("ステータスだけを更新できること")
+      void updateStatusByUuid() {
+        // when
+        Mono<Offer> actual = offerRepository.updateStatusByUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789abc"), 2,
+                LocalDateTime.of(2024, 1, 1, 0, 0))
+            .then(offerRepository.findByUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789abc")));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getStatusId, Offer::getPrice, Offer::getUpdatedAt)
+                .containsExactly(2, 0.01F, LocalDateTime.of(2024, 1, 1, 0, 0)))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("期待するステータスと一致する場合だけ更新し、更新後の行を返すこと")
+      void updateStatusByUuidAndStatusId() {
+        // when
+        Mono<Offer> matched = offerRepository.updateStatusByUuidAndStatusId(
+            UUID.fromString("12345678-1234-5678-1234-123456789abd"), 0, 1,
+            LocalDateTime.of(2024, 1, 1, 0, 0));
+        Mono<Offer> unmatched = offerRepository.updateStatusByUuidAndStatusId(
+            UUID.fromString("12345678-1234-5678-1234-123456789abe"), 2, 3,
+            LocalDateTime.of(2024, 1, 1, 0, 0));
+        // then
+        StepVerifier.create(matched)
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, Offer::getStatusId, Offer::getUpdatedAt)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789abd"), 1,
+                    LocalDateTime.of(2024, 1, 1, 0, 0)))
+            .verifyComplete();
+        StepVerifier.create(unmatched).verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class rejectCheaper {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("基準より安い申請中のオファーだけを拒否できること")
+      void rejectCheaper() {
+        // given
+        Offer cheaper = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-5678-1234-123456789ac0"))
+            .resumeUuid(UUID.fromString("12345678-1234-5678-1234-123456789abc"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .price(0.005F).message("よろしくお願いします。").statusId(0).build();
+        Offer pricier = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-5678-1234-123456789ac1"))
+            .resumeUuid(UUID.fromString("12345678-1234-5678-1234-123456789abc"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abe"))
+            .price(0.02F).message("よろしくお願いします。").statusId(0).build();
+        // when
+        Mono<Integer> actual = offerRepository.saveAll(Flux.just(cheaper, pricier))
+            .then(offerRepository.rejectCheaper(
+                UUID.fromString("12345678-1234-5678-1234-123456789abc"),
+                UUID.fromString("12345678-1234-5678-1234-123456789abc"), 0, 3,
+                LocalDateTime.of(2024, 1, 1, 0, 0)));
+        // then
+        StepVerifier.create(actual).expectNext(1).verifyComplete();
+        StepVerifier.create(offerRepository.findByResumeUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789abc"))
+                .sort(Comparator.comparing(Offer::getPrice)))
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, Offer::getStatusId)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789ac0"), 3))
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, Offer::getStatusId)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789abc"), 0))
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, Offer::getStatusId)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789ac1"), 0))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class updateStatusByResumeUuidInAndStatusId {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("指定したミントステータスの履歴書に届いたオファーだけを更新できること")
+      void updateStatusByResumeUuidInAndStatusId() {
+        // when
+        Mono<Integer> actual = offerRepository.updateStatusByResumeUuidInAndStatusId(
+            List.of(UUID.fromString("12345678-1234-5678-1234-123456789abc"),
+                UUID.fromString("12345678-1234-5678-1234-123456789abd"),
+                UUID.fromString("12345678-1234-5678-1234-123456789abe")),
+            2, 0, 3, LocalDateTime.of(2024, 1, 4, 0, 0));
+        // then
+        StepVerifier.create(actual).expectNext(1).verifyComplete();
+        StepVerifier.create(offerRepository.findAll(Sort.by("uuid"))
+                .map(Offer::getStatusId))
+            .expectNext(0, 0, 3)
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class refreshCompanyNameByCompanyUuidIn {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("企業の最新の社名をオファーに反映できること")
+      void refreshCompanyNameByCompanyUuidIn() {
+        // given
+        Mono<Integer> rename = databaseClient.sql("""
+                UPDATE companies SET name = '株式会社Z'
+                WHERE uuid = '12345678-1234-1234-1234-123456789abc'
+                """)
+            .fetch().rowsUpdated().map(Long::intValue);
+        // when
+        Mono<Offer> actual = rename
+            .then(offerRepository.refreshCompanyNameByCompanyUuidIn(
+                List.of(UUID.fromString("12345678-1234-1234-1234-123456789abc"))))
+            .then(offerRepository.findByUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789abc")));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer.getCompanyName()).isEqualTo("株式会社Z"))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class refreshStaleCompanyNamesByCompanyUuidIn {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("指定した企業のうち社名が食い違うオファーだけを最新の社名に直せること")
+      void refreshStaleCompanyNamesByCompanyUuidIn() {
+        // given
+        Mono<Integer> rename = databaseClient.sql("""
+                UPDATE companies SET name = '株式会社Z'
+                WHERE uuid IN ('12345678-1234-1234-1234-123456789abc',
+                    '12345678-1234-1234-1234-123456789abd')
+                """)
+            .fetch().rowsUpdated().map(Long::intValue);
+        // when
+        Mono<Integer> actual = rename.then(offerRepository.refreshStaleCompanyNamesByCompanyUuidIn(
+            List.of(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+                UUID.fromString("12345678-1234-1234-1234-123456789abe"))));
+        // then
+        StepVerifier.create(actual).expectNext(1).verifyComplete();
+        StepVerifier.create(offerRepository.findByUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789abc")))
+            .assertNext(offer -> assertThat(offer.getCompanyName()).isEqualTo("株式会社Z"))
+            .verifyComplete();
+        StepVerifier.create(offerRepository.findByUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789abd")))
+            .assertNext(offer -> assertThat(offer.getCompanyName()).isEqualTo("B株式会社"))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class insertAll {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("複数のオファーをまとめて登録し、採番したIDを返すこと")
+      void insertAll() {
+        // given
+        Offer offer1 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-5678-1234-123456789ac0"))
+            .resumeUuid(UUID.fromString("12345678-1234-5678-1234-123456789abd"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .companyName("株式会社A")
+            .price(0.02F).message("よろしくお願いします。").statusId(0).build();
+        Offer offer2 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-5678-1234-123456789ac1"))
+            .resumeUuid(UUID.fromString("12345678-1234-5678-1234-123456789abe"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .companyName("株式会社A")
+            .price(0.03F).statusId(0).build();
+        // when
+        Flux<Offer> actual = offerRepository.insertAll(List.of(offer1, offer2));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, o -> o.getId() != null)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789ac0"), true))
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, o -> o.getId() != null)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789ac1"), true))
+            .verifyComplete();
+        StepVerifier.create(offerRepository.findByUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789ac1")))
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getResumeUuid, Offer::getCompanyName, Offer::getPrice,
+                    Offer::getMessage)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789abe"),
+                    "株式会社A", 0.03F, null))
+            .verifyComplete();
+      }
+    }
+  }
+
   @Nested
   @TestExecutionListeners(
       listeners = {FlywayTestExecutionListener.class},
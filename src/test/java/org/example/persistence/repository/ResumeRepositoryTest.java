@@ -2,6 +2,9 @@ package org.example.persistence.repository;
 
 import static org.assertj.core.api.Assertions.assertThat;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
 import org.example.listener.FlywayTestExecutionListener;
 import org.example.persistence.entity.Resume;
@@ -184,6 +187,119 @@ class ResumeRepositoryTest {
     }
   }
 
+  @Nested
+  class findDueUuids {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("期限を付けずにミント済になっていた履歴書も期限切れの対象になること")
+      void findDueUuids() {
+        // when
+        Flux<UUID> actual = resumeRepository.findDueUuids(1, LocalDateTime.of(2024, 2, 1, 0, 0),
+            10);
+        // then
+        StepVerifier.create(actual)
+            .expectNext(UUID.fromString("12345678-1234-5678-1234-123456789abd"))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("期限前の履歴書は対象にならないこと")
+      void notDue() {
+        // when
+        Flux<UUID> actual = resumeRepository.findDueUuids(1,
+            LocalDateTime.of(2024, 1, 31, 23, 59), 10);
+        // then
+        StepVerifier.create(actual).verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class updateMintStatusByUuidInAndMintStatusId {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("ミント済の履歴書だけミントステータスをまとめて更新できること")
+      void updateMintStatusByUuidInAndMintStatusId() {
+        // when
+        Mono<Integer> actual = resumeRepository.updateMintStatusByUuidInAndMintStatusId(
+            List.of(UUID.fromString("12345678-1234-5678-1234-123456789abc"),
+                UUID.fromString("12345678-1234-5678-1234-123456789abd"),
+                UUID.fromString("12345678-1234-5678-1234-123456789abe")),
+            1, 2, LocalDateTime.of(2024, 1, 4, 0, 0));
+        // then
+        StepVerifier.create(actual).expectNext(1).verifyComplete();
+        StepVerifier.create(resumeRepository.findByMintStatusId(2).map(Resume::getUuid))
+            .recordWith(ArrayList::new)
+            .expectNextCount(2)
+            .consumeRecordedWith(uuids -> assertThat(uuids).containsExactlyInAnyOrder(
+                UUID.fromString("12345678-1234-5678-1234-123456789abd"),
+                UUID.fromString("12345678-1234-5678-1234-123456789abe")))
+            .verifyComplete();
+        StepVerifier.create(resumeRepository.findByMintStatusId(0).map(Resume::getUuid))
+            .expectNext(UUID.fromString("12345678-1234-5678-1234-123456789abc"))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class insertAll {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("複数の履歴書をまとめて登録し、採番したIDを返すこと")
+      void insertAll() {
+        // given
+        Resume resume1 = Resume.builder()
+            .uuid(UUID.fromString("12345678-1234-5678-1234-123456789ac0"))
+            .applicantUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .education("2018年 D大学卒業").skills("英検3級")
+            .mintStatusId(0).minimumPrice(0F).build();
+        Resume resume2 = Resume.builder()
+            .uuid(UUID.fromString("12345678-1234-5678-1234-123456789ac1"))
+            .applicantUuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .education("2017年 E大学卒業")
+            .mintStatusId(0).minimumPrice(0F).build();
+        // when
+        Flux<Resume> actual = resumeRepository.insertAll(List.of(resume1, resume2));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(resume -> assertThat(resume)
+                .extracting(Resume::getUuid, r -> r.getId() != null)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789ac0"), true))
+            .assertNext(resume -> assertThat(resume)
+                .extracting(Resume::getUuid, r -> r.getId() != null)
+                .containsExactly(UUID.fromString("12345678-1234-5678-1234-123456789ac1"), true))
+            .verifyComplete();
+        StepVerifier.create(resumeRepository.findByUuid(
+                UUID.fromString("12345678-1234-5678-1234-123456789ac1")))
+            .assertNext(resume -> assertThat(resume)
+                .extracting(Resume::getApplicantUuid, Resume::getEducation, Resume::getSkills,
+                    Resume::getMintStatusId)
+                .containsExactly(UUID.fromString("12345678-1234-1234-1234-123456789abd"),
+                    "2017年 E大学卒業", null, 0))
+            .verifyComplete();
+      }
+    }
+  }
+
   @Nested
   @TestExecutionListeners(
       listeners = {FlywayTestExecutionListener.class},
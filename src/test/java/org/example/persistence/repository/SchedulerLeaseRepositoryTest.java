@@ -0,0 +1,50 @@
+package org.example.persistence.repository;
+
+import java.time.LocalDateTime;
+import org.example.listener.FlywayTestExecutionListener;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.data.r2dbc.DataR2dbcTest;
+import org.springframework.test.context.TestExecutionListeners;
+import reactor.test.StepVerifier;
+
+@DataR2dbcTest
+class SchedulerLeaseRepositoryTest {
+
+  @Autowired
+  SchedulerLeaseRepository schedulerLeaseRepository;
+
+  @Nested
+  @TestExecutionListeners(
+      listeners = {FlywayTestExecutionListener.class},
+      mergeMode = TestExecutionListeners.MergeMode.MERGE_WITH_DEFAULTS)
+  class acquire {
+
+    @Nested
+    @DisplayName("正常系")
+    class regular {
+
+      @Test
+      @DisplayName("リースは期限が切れるまで保持者だけが更新できること")
+      void acquire() {
+        // given
+        LocalDateTime now = LocalDateTime.now();
+        // when, then
+        StepVerifier.create(schedulerLeaseRepository.acquire("resume-expiry", "node-a",
+                now, now.plusMinutes(5)))
+            .expectNext(1).verifyComplete();
+        StepVerifier.create(schedulerLeaseRepository.acquire("resume-expiry", "node-b",
+                now.plusMinutes(1), now.plusMinutes(6)))
+            .expectNext(0).verifyComplete();
+        StepVerifier.create(schedulerLeaseRepository.acquire("resume-expiry", "node-a",
+                now.plusMinutes(1), now.plusMinutes(6)))
+            .expectNext(1).verifyComplete();
+        StepVerifier.create(schedulerLeaseRepository.acquire("resume-expiry", "node-b",
+                now.plusMinutes(7), now.plusMinutes(12)))
+            .expectNext(1).verifyComplete();
+      }
+    }
+  }
+}
@@ -2,10 +2,14 @@ package org.example.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.UUID;
 import org.example.error.exception.PasswordAuthenticationException;
+import org.example.error.exception.ServiceUnavailableException;
+import org.example.error.exception.TooManyRequestsException;
 import org.example.persistence.entity.Applicant;
 import org.example.persistence.repository.ApplicantRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -15,7 +19,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,7 +32,9 @@ class ApplicantServiceTest {
   @Mock
   private ApplicantRepository applicantRepository;
   @Mock
-  private PasswordEncoder passwordEncoder;
+  private PasswordHashingService passwordHashingService;
+  @Mock
+  private LoginRateLimitService loginRateLimitService;
 
   @Nested
   class FindAll {
@@ -158,7 +163,7 @@ class ApplicantServiceTest {
             .email("aaa@example.org").phone("090-3333-4444").address("東京都港区")
             .passwordDigest("password").build();
         when(applicantRepository.save(any(Applicant.class))).thenReturn(Mono.just(applicant1));
-        when(passwordEncoder.encode("password")).thenReturn("password_digest");
+        when(passwordHashingService.encode("password")).thenReturn(Mono.just("password_digest"));
         // when
         Mono<Applicant> actual = applicantService.save(applicant1, "password");
         // then
@@ -189,7 +194,8 @@ class ApplicantServiceTest {
             .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
             .passwordDigest("password_digest").build();
         when(applicantRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(applicant1));
-        when(passwordEncoder.matches("password", "password_digest")).thenReturn(true);
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
         // when
         Mono<Applicant> actual = applicantService.login("xxx@example.org", "password");
         // then
@@ -202,6 +208,51 @@ class ApplicantServiceTest {
                     "password_digest"))
             .verifyComplete();
       }
+
+      @Test
+      @DisplayName("ハッシュ値が現在の設定より弱い場合は再ハッシュして差し替える")
+      void rehashOnLogin() {
+        // given
+        Applicant applicant1 = Applicant.builder().id(1L).uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")).firstName("太郎").lastName("山田")
+            .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
+            .passwordDigest("password_digest").build();
+        when(applicantRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(applicant1));
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
+        when(passwordHashingService.needsRehash("password_digest")).thenReturn(true);
+        when(passwordHashingService.encode("password")).thenReturn(Mono.just("{bcrypt}new"));
+        when(applicantRepository.updatePasswordDigestById(1L, "password_digest", "{bcrypt}new"))
+            .thenReturn(Mono.just(1));
+        // when
+        Mono<Applicant> actual = applicantService.login("xxx@example.org", "password");
+        // then
+        StepVerifier.create(actual)
+            .assertNext(a -> assertThat(a.getPasswordDigest()).isEqualTo("{bcrypt}new"))
+            .verifyComplete();
+        verify(applicantRepository).updatePasswordDigestById(1L, "password_digest", "{bcrypt}new");
+      }
+
+      @Test
+      @DisplayName("再ハッシュに失敗してもログインできる")
+      void rehashFailed() {
+        // given
+        Applicant applicant1 = Applicant.builder().id(1L).uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")).firstName("太郎").lastName("山田")
+            .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
+            .passwordDigest("password_digest").build();
+        when(applicantRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(applicant1));
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
+        when(passwordHashingService.needsRehash("password_digest")).thenReturn(true);
+        when(passwordHashingService.encode("password"))
+            .thenReturn(Mono.error(new ServiceUnavailableException("Password hashing is saturated.")));
+        // when
+        Mono<Applicant> actual = applicantService.login("xxx@example.org", "password");
+        // then
+        StepVerifier.create(actual)
+            .assertNext(a -> assertThat(a.getPasswordDigest()).isEqualTo("password_digest"))
+            .verifyComplete();
+        verify(applicantRepository, never()).updatePasswordDigestById(any(), any(), any());
+      }
     }
 
     @Nested
@@ -213,7 +264,8 @@ class ApplicantServiceTest {
       void emailIsWrong() {
         // given
         when(applicantRepository.findByEmail("xxx@example.org")).thenReturn(Mono.empty());
-        when(passwordEncoder.matches("password", "password_digest")).thenReturn(true);
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
         // when
         Mono<Applicant> actual = applicantService.login("xxx@example.org", "password");
         // then
@@ -228,12 +280,25 @@ class ApplicantServiceTest {
             .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
             .passwordDigest("password_digest").build();
         when(applicantRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(applicant1));
-        when(passwordEncoder.matches("password", "password_digest")).thenReturn(false);
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(false));
         // when
         Mono<Applicant> actual = applicantService.login("xxx@example.org", "password");
         // then
         StepVerifier.create(actual).expectError(PasswordAuthenticationException.class).verify();
       }
+
+      @Test
+      @DisplayName("試行回数が上限を超えた場合はパスワードを照合しない")
+      void tooManyAttempts() {
+        // given
+        when(loginRateLimitService.exceededByEmail("applicant", "xxx@example.org")).thenReturn(true);
+        // when
+        Mono<Applicant> actual = applicantService.login("xxx@example.org", "password");
+        // then
+        StepVerifier.create(actual).expectError(TooManyRequestsException.class).verify();
+        verify(passwordHashingService, never()).matches(any(), any());
+      }
     }
   }
 
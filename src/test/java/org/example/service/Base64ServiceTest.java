@@ -32,6 +32,17 @@ class Base64ServiceTest {
         // then
         assertThat(encoded).isEqualTo("dGVzdA==");
       }
+
+      @Test
+      @DisplayName("マルチバイト文字はUTF-8としてエンコードする")
+      void encodesAsUtf8() {
+        // given
+        String raw = "テスト";
+        // when
+        String encoded = base64Service.encode(raw);
+        // then
+        assertThat(encoded).isEqualTo("44OG44K544OI");
+      }
     }
   }
 
@@ -52,6 +63,17 @@ class Base64ServiceTest {
         // then
         assertThat(raw).isEqualTo("test");
       }
+
+      @Test
+      @DisplayName("UTF-8としてデコードする")
+      void decodesAsUtf8() {
+        // given
+        String encoded = "44OG44K544OI";
+        // when
+        String raw = base64Service.decode(encoded);
+        // then
+        assertThat(raw).isEqualTo("テスト");
+      }
     }
   }
 }
\ No newline at end of file
@@ -0,0 +1,140 @@
+package org.example.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import org.example.config.CompanyNamePropagationConfig;
+import org.example.persistence.repository.CompanyRepository;
+import org.example.persistence.repository.OfferRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class CompanyNamePropagatorTest {
+
+  private CompanyNamePropagator companyNamePropagator;
+  @Mock
+  private OfferRepository offerRepository;
+  @Mock
+  private CompanyRepository companyRepository;
+
+  @BeforeEach
+  void setUp() {
+    CompanyNamePropagationConfig config = new CompanyNamePropagationConfig();
+    config.setBatchSize(2);
+    companyNamePropagator = new CompanyNamePropagator(offerRepository, companyRepository,
+        config);
+  }
+
+  @Nested
+  class Flush {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("同じ企業の変更は1回にまとめて反映する")
+      void deduplicate() {
+        // given
+        UUID companyUuid = UUID.fromString("12345678-1234-1234-1234-123456789abc");
+        when(offerRepository.refreshCompanyNameByCompanyUuidIn(List.of(companyUuid)))
+            .thenReturn(Mono.just(3));
+        companyNamePropagator.enqueue(companyUuid);
+        companyNamePropagator.enqueue(companyUuid);
+        // when, then
+        StepVerifier.create(companyNamePropagator.flush()).expectNext(3).verifyComplete();
+        StepVerifier.create(companyNamePropagator.flush()).expectNext(0).verifyComplete();
+      }
+
+      @Test
+      @DisplayName("反映待ちがない場合はクエリを発行しない")
+      void empty() {
+        // when, then
+        StepVerifier.create(companyNamePropagator.flush()).expectNext(0).verifyComplete();
+        verify(offerRepository, never()).refreshCompanyNameByCompanyUuidIn(any());
+      }
+
+      @Test
+      @DisplayName("反映を無効にしている場合は反映待ちに積まない")
+      void disabled() {
+        // given
+        CompanyNamePropagationConfig config = new CompanyNamePropagationConfig();
+        config.setEnabled(false);
+        CompanyNamePropagator disabled = new CompanyNamePropagator(offerRepository,
+            companyRepository, config);
+        disabled.enqueue(UUID.fromString("12345678-1234-1234-1234-123456789abc"));
+        // when, then
+        StepVerifier.create(disabled.flush()).expectNext(0).verifyComplete();
+        verify(offerRepository, never()).refreshCompanyNameByCompanyUuidIn(any());
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("失敗した企業は反映待ちに戻す")
+      void requeue() {
+        // given
+        UUID companyUuid = UUID.fromString("12345678-1234-1234-1234-123456789abc");
+        when(offerRepository.refreshCompanyNameByCompanyUuidIn(List.of(companyUuid)))
+            .thenReturn(Mono.error(new IllegalStateException("connection closed")),
+                Mono.just(1));
+        companyNamePropagator.enqueue(companyUuid);
+        // when, then
+        StepVerifier.create(companyNamePropagator.flush())
+            .expectError(IllegalStateException.class).verify();
+        StepVerifier.create(companyNamePropagator.flush()).expectNext(1).verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  class Reconcile {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("社名が食い違うオファーを企業batch-size件ずつ反映する")
+      void reconcile() {
+        // given
+        UUID first = UUID.fromString("12345678-1234-1234-1234-123456789abc");
+        UUID second = UUID.fromString("12345678-1234-1234-1234-123456789abd");
+        UUID third = UUID.fromString("12345678-1234-1234-1234-123456789abe");
+        when(companyRepository.findAllUuids()).thenReturn(Flux.just(first, second, third));
+        when(offerRepository.refreshStaleCompanyNamesByCompanyUuidIn(List.of(first, second)))
+            .thenReturn(Mono.just(2));
+        when(offerRepository.refreshStaleCompanyNamesByCompanyUuidIn(List.of(third)))
+            .thenReturn(Mono.just(1));
+        // when, then
+        StepVerifier.create(companyNamePropagator.reconcile()).expectNext(3).verifyComplete();
+      }
+
+      @Test
+      @DisplayName("reconcile-on-startupを有効にしない限り起動時には反映しない")
+      void skipOnStartup() {
+        // when
+        companyNamePropagator.reconcileOnStartup();
+        // then
+        verifyNoInteractions(companyRepository, offerRepository);
+      }
+    }
+  }
+}
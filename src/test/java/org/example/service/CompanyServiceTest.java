@@ -2,10 +2,14 @@ package org.example.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 import java.util.UUID;
 import org.example.error.exception.PasswordAuthenticationException;
+import org.example.error.exception.ServiceUnavailableException;
+import org.example.error.exception.TooManyRequestsException;
 import org.example.persistence.entity.Company;
 import org.example.persistence.repository.CompanyRepository;
 import org.junit.jupiter.api.DisplayName;
@@ -15,7 +19,6 @@ import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.domain.Sort;
-import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -29,7 +32,9 @@ class CompanyServiceTest {
   @Mock
   private CompanyRepository companyRepository;
   @Mock
-  private PasswordEncoder passwordEncoder;
+  private PasswordHashingService passwordHashingService;
+  @Mock
+  private LoginRateLimitService loginRateLimitService;
 
   @Nested
   class FindAll {
@@ -159,7 +164,7 @@ class CompanyServiceTest {
             .email("aaa@example.org").phone("090-3333-4444").address("東京都港区")
             .passwordDigest("password").build();
         when(companyRepository.save(any(Company.class))).thenReturn(Mono.just(company1));
-        when(passwordEncoder.encode("password")).thenReturn("password_digest");
+        when(passwordHashingService.encode("password")).thenReturn(Mono.just("password_digest"));
         // when
         Mono<Company> actual = companyService.save(company1, "password");
         // then
@@ -190,7 +195,8 @@ class CompanyServiceTest {
             .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
             .passwordDigest("password_digest").build();
         when(companyRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(company1));
-        when(passwordEncoder.matches("password", "password_digest")).thenReturn(true);
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
         // when
         Mono<Company> actual = companyService.login("xxx@example.org", "password");
         // then
@@ -203,6 +209,51 @@ class CompanyServiceTest {
                     "password_digest"))
             .verifyComplete();
       }
+
+      @Test
+      @DisplayName("ハッシュ値が現在の設定より弱い場合は再ハッシュして差し替える")
+      void rehashOnLogin() {
+        // given
+        Company company1 = Company.builder().id(1L).uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")).name("A株式会社")
+            .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
+            .passwordDigest("password_digest").build();
+        when(companyRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(company1));
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
+        when(passwordHashingService.needsRehash("password_digest")).thenReturn(true);
+        when(passwordHashingService.encode("password")).thenReturn(Mono.just("{bcrypt}new"));
+        when(companyRepository.updatePasswordDigestById(1L, "password_digest", "{bcrypt}new"))
+            .thenReturn(Mono.just(1));
+        // when
+        Mono<Company> actual = companyService.login("xxx@example.org", "password");
+        // then
+        StepVerifier.create(actual)
+            .assertNext(a -> assertThat(a.getPasswordDigest()).isEqualTo("{bcrypt}new"))
+            .verifyComplete();
+        verify(companyRepository).updatePasswordDigestById(1L, "password_digest", "{bcrypt}new");
+      }
+
+      @Test
+      @DisplayName("再ハッシュに失敗してもログインできる")
+      void rehashFailed() {
+        // given
+        Company company1 = Company.builder().id(1L).uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")).name("A株式会社")
+            .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
+            .passwordDigest("password_digest").build();
+        when(companyRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(company1));
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
+        when(passwordHashingService.needsRehash("password_digest")).thenReturn(true);
+        when(passwordHashingService.encode("password"))
+            .thenReturn(Mono.error(new ServiceUnavailableException("Password hashing is saturated.")));
+        // when
+        Mono<Company> actual = companyService.login("xxx@example.org", "password");
+        // then
+        StepVerifier.create(actual)
+            .assertNext(a -> assertThat(a.getPasswordDigest()).isEqualTo("password_digest"))
+            .verifyComplete();
+        verify(companyRepository, never()).updatePasswordDigestById(any(), any(), any());
+      }
     }
 
     @Nested
@@ -214,7 +265,8 @@ class CompanyServiceTest {
       void emailIsWrong() {
         // given
         when(companyRepository.findByEmail("xxx@example.org")).thenReturn(Mono.empty());
-        when(passwordEncoder.matches("password", "password_digest")).thenReturn(true);
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(true));
         // when
         Mono<Company> actual = companyService.login("xxx@example.org", "password");
         // then
@@ -229,12 +281,25 @@ class CompanyServiceTest {
             .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区")
             .passwordDigest("password_digest").build();
         when(companyRepository.findByEmail("xxx@example.org")).thenReturn(Mono.just(company1));
-        when(passwordEncoder.matches("password", "password_digest")).thenReturn(false);
+        when(passwordHashingService.matches("password", "password_digest"))
+            .thenReturn(Mono.just(false));
         // when
         Mono<Company> actual = companyService.login("xxx@example.org", "password");
         // then
         StepVerifier.create(actual).expectError(PasswordAuthenticationException.class).verify();
       }
+
+      @Test
+      @DisplayName("試行回数が上限を超えた場合はパスワードを照合しない")
+      void tooManyAttempts() {
+        // given
+        when(loginRateLimitService.exceededByEmail("company", "xxx@example.org")).thenReturn(true);
+        // when
+        Mono<Company> actual = companyService.login("xxx@example.org", "password");
+        // then
+        StepVerifier.create(actual).expectError(TooManyRequestsException.class).verify();
+        verify(passwordHashingService, never()).matches(any(), any());
+      }
     }
   }
 
@@ -0,0 +1,132 @@
+package org.example.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import io.r2dbc.spi.Readable;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.UUID;
+import java.util.function.Function;
+import org.example.constant.ExportFormat;
+import org.example.error.exception.BadRequestException;
+import org.example.persistence.dto.ExportFilter;
+import org.example.persistence.repository.ExportRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DataBufferUtils;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class ExportServiceTest {
+
+  private ExportService exportService;
+  @Mock
+  private ExportRepository exportRepository;
+
+  @BeforeEach
+  void setUp() {
+    exportService = new ExportService(exportRepository, new ObjectMapper());
+    Readable offer = row(1L,
+        UUID.fromString("12345678-1234-5678-1234-123456789abc"),
+        UUID.fromString("12345678-1234-5678-1234-123456789abc"),
+        UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+        "株式会社A, \"本社\"", 0.02D, null, 0,
+        LocalDateTime.of(2024, 1, 1, 0, 0), LocalDateTime.of(2024, 1, 2, 0, 0));
+    when(exportRepository.exportOffers(any(), any())).thenAnswer(invocation -> Flux.just(offer)
+        .map(invocation.<Function<Readable, DataBuffer>>getArgument(1)));
+  }
+
+  private static Readable row(Object... values) {
+    Readable row = mock(Readable.class);
+    when(row.get(anyInt(), any()))
+        .thenAnswer(invocation -> values[invocation.<Integer>getArgument(0)]);
+    return row;
+  }
+
+  private static Mono<String> text(Flux<DataBuffer> buffers) {
+    return DataBufferUtils.join(buffers).map(buffer -> {
+      String text = buffer.toString(StandardCharsets.UTF_8);
+      DataBufferUtils.release(buffer);
+      return text;
+    });
+  }
+
+  @Nested
+  class ExportOffers {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("ヘッダー行に続けて、必要な列だけをクォートしたCSVを返す")
+      void csv() {
+        // when
+        Flux<DataBuffer> actual = exportService.exportOffers(new ExportFilter(),
+            ExportFormat.CSV, DefaultDataBufferFactory.sharedInstance);
+        // then
+        StepVerifier.create(text(actual))
+            .expectNext("""
+                id,uuid,resumeUuid,companyUuid,companyName,price,message,statusId,\
+                createdAt,updatedAt
+                1,12345678-1234-5678-1234-123456789abc,12345678-1234-5678-1234-123456789abc,\
+                12345678-1234-1234-1234-123456789abc,"株式会社A, ""本社""",0.02,,0,\
+                2024-01-01 00:00:00,2024-01-02 00:00:00
+                """)
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("1行に1つのJSONオブジェクトを返す")
+      void ndjson() {
+        // when
+        Flux<DataBuffer> actual = exportService.exportOffers(new ExportFilter(),
+            ExportFormat.NDJSON, DefaultDataBufferFactory.sharedInstance);
+        // then
+        StepVerifier.create(text(actual))
+            .expectNext("""
+                {"id":1,"uuid":"12345678-1234-5678-1234-123456789abc",\
+                "resumeUuid":"12345678-1234-5678-1234-123456789abc",\
+                "companyUuid":"12345678-1234-1234-1234-123456789abc",\
+                "companyName":"株式会社A, \\"本社\\"","price":0.02,"message":null,\
+                "statusId":0,"createdAt":"2024-01-01 00:00:00",\
+                "updatedAt":"2024-01-02 00:00:00"}
+                """)
+            .verifyComplete();
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("期間の開始が終了以降の場合はBadRequestExceptionを返す")
+      void invalidRange() {
+        // given
+        ExportFilter filter = new ExportFilter(null, LocalDateTime.of(2024, 1, 2, 0, 0),
+            LocalDateTime.of(2024, 1, 1, 0, 0));
+        // when
+        Flux<DataBuffer> actual = exportService.exportOffers(filter, ExportFormat.CSV,
+            DefaultDataBufferFactory.sharedInstance);
+        // then
+        StepVerifier.create(actual).expectError(BadRequestException.class).verify();
+        verifyNoInteractions(exportRepository);
+      }
+    }
+  }
+}
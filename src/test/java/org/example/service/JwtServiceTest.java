@@ -12,6 +12,7 @@ import com.auth0.jwt.exceptions.TokenExpiredException;
 import com.auth0.jwt.interfaces.DecodedJWT;
 import java.util.Date;
 import java.util.List;
+import java.util.Map;
 import java.util.UUID;
 import org.example.config.JwtConfig;
 import org.example.persistence.entity.Applicant;
@@ -21,7 +22,6 @@ import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInstance;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
 import org.springframework.test.util.ReflectionTestUtils;
@@ -30,15 +30,17 @@ import org.springframework.test.util.ReflectionTestUtils;
 @TestInstance(TestInstance.Lifecycle.PER_CLASS)
 class JwtServiceTest {
 
-  @InjectMocks
   private JwtService jwtService;
   @Mock
-private JwtConfig jwtConfig;
+  private JwtConfig jwtConfig;
 
   @BeforeAll
   void beforeAll() {
     when(jwtConfig.getTtl()).thenReturn(1000L);
     when(jwtConfig.getSecretKey()).thenReturn("secret");
+    when(jwtConfig.getKeyId()).thenReturn("v2");
+    when(jwtConfig.getRetiredKeys()).thenReturn(Map.of("v1", "old_secret"));
+    jwtService = new JwtService(jwtConfig);
   }
 
   @Nested
@@ -61,6 +63,7 @@ private JwtConfig jwtConfig;
         String jwt = jwtService.encodeApplicant(user);
         // then
         DecodedJWT jwtDecoded = JWT.require(Algorithm.HMAC256("secret")).build().verify(jwt);
+        assertThat(jwtDecoded.getKeyId()).isEqualTo("v2");
         assertThat(jwtDecoded.getIssuer()).isEqualTo("org.example");
         assertThat(jwtDecoded.getAudience()).isEqualTo(List.of("org.example"));
         assertThat(jwtDecoded.getSubject()).isEqualTo("12345678-1234-1234-1234-123456789abc");
@@ -109,6 +112,30 @@ private JwtConfig jwtConfig;
             .containsExactly(UUID.fromString("12345678-1234-1234-1234-123456789abc"), "太郎",
                 "山田", "xxx@example.org", "090-1234-5678", "東京都渋谷区");
       }
+
+      @Test
+      @DisplayName("ローテーション済みの鍵で署名されたJWTもkidで検証できる")
+      void decodeRetiredKey() {
+        // given
+        Date now = new Date();
+        String jwt = JWT.create()
+            .withKeyId("v1")
+            .withJWTId(UUID.randomUUID().toString())
+            .withIssuer("org.example")
+            .withAudience("org.example")
+            .withSubject("12345678-1234-1234-1234-123456789abc")
+            .withClaim("firstName", "太郎")
+            .withIssuedAt(now)
+            .withNotBefore(now)
+            .withExpiresAt(new Date(now.getTime() + 1000L))
+            .sign(Algorithm.HMAC256("old_secret"));
+        // when
+        Applicant applicant = jwtService.decodeApplicant(jwt);
+        // then
+        assertThat(applicant)
+            .extracting(Applicant::getUuid, Applicant::getFirstName)
+            .containsExactly(UUID.fromString("12345678-1234-1234-1234-123456789abc"), "太郎");
+      }
     }
 
     @Nested
@@ -138,6 +165,23 @@ private JwtConfig jwtConfig;
         assertThrows(SignatureVerificationException.class, () -> jwtService.decodeApplicant(jwt));
       }
 
+      @Test
+      @DisplayName("kidと署名鍵が一致しない場合は例外が発生する")
+      void mismatchedKeyId() {
+        // given
+        Date now = new Date();
+        String jwt = JWT.create()
+            .withKeyId("v1")
+            .withJWTId(UUID.randomUUID().toString())
+            .withSubject("1")
+            .withIssuedAt(now)
+            .withNotBefore(now)
+            .withExpiresAt(new Date(now.getTime() + 1000L))
+            .sign(Algorithm.HMAC256("secret"));
+        // when, then
+        assertThrows(SignatureVerificationException.class, () -> jwtService.decodeApplicant(jwt));
+      }
+
       @Test
       @DisplayName("JWTの有効期限が切れている場合は例外が発生する")
       void expired() {
@@ -0,0 +1,135 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.time.Duration;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.IntStream;
+import org.example.config.LoginRateLimitConfig;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+
+class LoginRateLimitServiceTest {
+
+  private static final long WINDOW = Duration.ofMinutes(1).toNanos();
+
+  private final AtomicLong now = new AtomicLong();
+  private LoginRateLimitConfig loginRateLimitConfig;
+  private LoginRateLimitService loginRateLimitService;
+
+  @BeforeEach
+  void setUp() {
+    loginRateLimitConfig = new LoginRateLimitConfig();
+    loginRateLimitConfig.setWindow(Duration.ofMinutes(1));
+    loginRateLimitConfig.setMaxAttemptsPerIp(3);
+    loginRateLimitConfig.setMaxAttemptsPerEmail(2);
+    loginRateLimitService = new LoginRateLimitService(loginRateLimitConfig, now::get);
+  }
+
+  private long attempts(int count, String email) {
+    return IntStream.range(0, count)
+        .filter(i -> !loginRateLimitService.exceededByEmail("applicant", email))
+        .count();
+  }
+
+  @Nested
+  class Exceeded {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("窓の間は上限の回数まで受け付ける")
+      void withinWindow() {
+        // when, then
+        assertThat(attempts(5, "xxx@example.org")).isEqualTo(2);
+        assertThat(loginRateLimitService.exceededByIp("192.0.2.1")).isFalse();
+      }
+
+      @Test
+      @DisplayName("emailは大文字小文字を区別せずに数える")
+      void caseInsensitive() {
+        // when
+        loginRateLimitService.exceededByEmail("applicant", "XXX@example.org");
+        loginRateLimitService.exceededByEmail("applicant", "xxx@EXAMPLE.org");
+        // then
+        assertThat(loginRateLimitService.exceededByEmail("applicant", "xxx@example.org"))
+            .isTrue();
+        assertThat(loginRateLimitService.exceededByEmail("company", "xxx@example.org"))
+            .isFalse();
+      }
+
+      @Test
+      @DisplayName("直前の窓の試行は経過した割合だけ差し引いて数える")
+      void sliding() {
+        // given
+        attempts(2, "xxx@example.org");
+        // when, then
+        now.set(WINDOW + WINDOW / 4);
+        assertThat(attempts(2, "xxx@example.org")).isZero();
+        now.set(WINDOW + WINDOW * 3 / 4);
+        assertThat(attempts(2, "xxx@example.org")).isEqualTo(1);
+      }
+
+      @Test
+      @DisplayName("2窓以上空いた場合は数え直す")
+      void reset() {
+        // given
+        attempts(2, "xxx@example.org");
+        // when
+        now.set(WINDOW * 5 / 2);
+        // then
+        assertThat(attempts(5, "xxx@example.org")).isEqualTo(2);
+      }
+
+      @Test
+      @DisplayName("無効にした場合は制限しない")
+      void disabled() {
+        // given
+        loginRateLimitConfig.setEnabled(false);
+        // when, then
+        assertThat(attempts(5, "xxx@example.org")).isEqualTo(5);
+      }
+
+      @Test
+      @DisplayName("キーの上限に達した場合は新しいキーの試行を断り、古いキーを捨てた後は受け付ける")
+      void maxKeys() {
+        // given
+        loginRateLimitConfig.setMaxKeys(1);
+        attempts(2, "xxx@example.org");
+        // when, then
+        assertThat(attempts(5, "yyy@example.org")).isZero();
+        assertThat(loginRateLimitService.size()).isEqualTo(1);
+        now.set(WINDOW * 2);
+        loginRateLimitService.evictExpired();
+        assertThat(attempts(5, "yyy@example.org")).isEqualTo(2);
+      }
+    }
+  }
+
+  @Nested
+  class EvictExpired {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("2窓以上試行のないキーだけを捨てる")
+      void evicted() {
+        // given
+        loginRateLimitService.exceededByIp("192.0.2.1");
+        now.set(WINDOW * 3 / 2);
+        loginRateLimitService.exceededByIp("192.0.2.2");
+        now.set(WINDOW * 2);
+        // when
+        loginRateLimitService.evictExpired();
+        // then
+        assertThat(loginRateLimitService.size()).isEqualTo(1);
+      }
+    }
+  }
+}
@@ -1,23 +1,37 @@
 package org.example.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.UUID;
-import org.example.persistence.dto.OfferDetailView;
+import org.example.config.BatchConfig;
+import org.example.constant.OfferStatus;
+import org.example.error.exception.ConflictException;
+import org.example.error.exception.NotFoundException;
+import org.example.persistence.entity.Company;
 import org.example.persistence.entity.Offer;
-import org.example.persistence.repository.OfferDetailViewRepository;
 import org.example.persistence.repository.OfferRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Sort;
 import org.springframework.security.crypto.password.PasswordEncoder;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -30,7 +44,9 @@ class OfferServiceTest {
   @Mock
   private OfferRepository offerRepository;
   @Mock
-  private OfferDetailViewRepository offerDetailViewRepository;
+  private BatchConfig batchConfig;
+  @Mock
+  private TransactionalOperator transactionalOperator;
   @Mock
   private PasswordEncoder passwordEncoder;
 
@@ -92,6 +108,41 @@ class OfferServiceTest {
     }
   }
 
+  @Nested
+  class FindAllInPages {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("ページが埋まっている間は最後の行の続きを読む")
+      void canFindAllInPages() {
+        // given
+        Offer offer1 = Offer.builder().id(1L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0)).build();
+        Offer offer2 = Offer.builder().id(2L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .updatedAt(LocalDateTime.of(2024, 1, 2, 0, 0)).build();
+        Offer offer3 = Offer.builder().id(3L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abe"))
+            .updatedAt(LocalDateTime.of(2024, 1, 3, 0, 0)).build();
+        when(offerRepository.findFirstPage(2)).thenReturn(Flux.just(offer3, offer2));
+        when(offerRepository.findPageAfter(LocalDateTime.of(2024, 1, 2, 0, 0), 2L, 2))
+            .thenReturn(Flux.just(offer1));
+        // when
+        Flux<Offer> actual = offerService.findAllInPages(2);
+        // then
+        StepVerifier.create(actual.map(Offer::getUuid))
+            .expectNext(UUID.fromString("12345678-1234-1234-1234-123456789abe"),
+                UUID.fromString("12345678-1234-1234-1234-123456789abd"),
+                UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .verifyComplete();
+      }
+    }
+  }
+
   @Nested
   class FindById {
 
@@ -137,28 +188,51 @@ class OfferServiceTest {
       @DisplayName("Resume UUIDで検索できる")
       void canFindByResumeUuid() {
         // given
-        OfferDetailView offer1 = OfferDetailView.builder()
+        Offer offer1 = Offer.builder()
             .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
             .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
             .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
             .companyName("株式会社A")
             .price(0.01F).message("よろしくお願いします。").statusId(0).build();
-        when(offerDetailViewRepository.findByResumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+        when(offerRepository.findByResumeUuidOrderByStatusIdAscUpdatedAtAsc(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
             .thenReturn(Flux.just(offer1));
         // when
-        Flux<OfferDetailView> actual = offerDetailViewRepository.findByResumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"));
+        Flux<Offer> actual = offerService.findByResumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"));
         // then
         StepVerifier.create(actual)
             .assertNext(offer -> assertThat(offer)
-                .extracting(OfferDetailView::getUuid, OfferDetailView::getResumeUuid,
-                    OfferDetailView::getCompanyUuid, OfferDetailView::getCompanyName,
-                    OfferDetailView::getPrice, OfferDetailView::getMessage, OfferDetailView::getStatusId)
+                .extracting(Offer::getUuid, Offer::getResumeUuid,
+                    Offer::getCompanyUuid, Offer::getCompanyName,
+                    Offer::getPrice, Offer::getMessage, Offer::getStatusId)
                 .containsExactly(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
                     UUID.fromString("12345678-1234-1234-1234-123456789abc"),
                     UUID.fromString("12345678-1234-1234-1234-123456789abc"),
                     "株式会社A", 0.01F, "よろしくお願いします。", 0))
             .verifyComplete();
       }
+
+      @Test
+      @DisplayName("件数を指定するとページ指定で検索する")
+      void canFindByResumeUuidWithLimit() {
+        // given
+        Offer offer1 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .companyName("株式会社A")
+            .price(0.01F).message("よろしくお願いします。").statusId(0).build();
+        when(offerRepository.findByResumeUuidOrderByStatusIdAscUpdatedAtAsc(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"), PageRequest.of(0, 10)))
+            .thenReturn(Flux.just(offer1));
+        // when
+        Flux<Offer> actual = offerService.findByResumeUuid(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"), 10);
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .verifyComplete();
+      }
     }
   }
 
@@ -170,27 +244,293 @@ class OfferServiceTest {
     class Regular {
 
       @Test
-      @DisplayName("保存できる")
+      @DisplayName("認証済みの企業のUUIDと社名を埋めて保存できる")
       void canSave() {
         // given
         Offer offer1 = Offer.builder()
             .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
                 .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
-                .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
                 .price(0.01F).message("よろしくお願いします。").statusId(0).build();
+        Company company = Company.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .name("株式会社A").build();
         when(offerRepository.save(offer1)).thenReturn(Mono.just(offer1));
         // when
-        Mono<Offer> actual = offerService.save(offer1);
+        Mono<Offer> actual = offerService.save(company, offer1);
         // then
         StepVerifier.create(actual)
             .assertNext(offer -> assertThat(offer)
                 .extracting(Offer::getUuid, Offer::getResumeUuid, Offer::getCompanyUuid,
-                    Offer::getPrice, Offer::getMessage, Offer::getStatusId)
+                    Offer::getCompanyName, Offer::getPrice, Offer::getMessage, Offer::getStatusId)
                 .containsExactly(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
                     UUID.fromString("12345678-1234-1234-1234-123456789abc"),
                     UUID.fromString("12345678-1234-1234-1234-123456789abc"),
-                    0.01F, "よろしくお願いします。", 0))
+                    "株式会社A", 0.01F, "よろしくお願いします。", 0))
+            .verifyComplete();
+      }
+    }
+  }
+
+  @Nested
+  class SaveAll {
+
+    @BeforeEach
+    void setUp() {
+      when(transactionalOperator.transactional(any(Flux.class)))
+          .thenAnswer(invocation -> invocation.getArgument(0));
+      when(batchConfig.getChunkSize()).thenReturn(2);
+    }
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("チャンクごとにまとめて登録し、社名を埋める")
+      void canSaveAll() {
+        // given
+        Offer offer1 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")).build();
+        Offer offer2 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd")).build();
+        Offer offer3 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abe")).build();
+        Company company = Company.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .name("株式会社A").build();
+        when(offerRepository.insertAll(anyList()))
+            .thenAnswer(invocation -> Flux.fromIterable(invocation.<List<Offer>>getArgument(0)));
+        // when
+        Flux<Offer> actual = offerService.saveAll(company, Flux.just(offer1, offer2, offer3));
+        // then
+        StepVerifier.create(actual)
+            .recordWith(ArrayList::new)
+            .expectNextCount(3)
+            .consumeRecordedWith(offers -> assertThat(offers)
+                .extracting(Offer::getUuid, Offer::getCompanyUuid, Offer::getCompanyName)
+                .containsExactly(
+                    tuple(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+                        UUID.fromString("12345678-1234-1234-1234-123456789abc"), "株式会社A"),
+                    tuple(UUID.fromString("12345678-1234-1234-1234-123456789abd"),
+                        UUID.fromString("12345678-1234-1234-1234-123456789abc"), "株式会社A"),
+                    tuple(UUID.fromString("12345678-1234-1234-1234-123456789abe"),
+                        UUID.fromString("12345678-1234-1234-1234-123456789abc"), "株式会社A")))
+            .verifyComplete();
+        verify(offerRepository, times(2)).insertAll(anyList());
+      }
+    }
+  }
+
+  @Nested
+  class Accept {
+
+    @BeforeEach
+    void setUp() {
+      when(transactionalOperator.transactional(any(Mono.class)))
+          .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("オファーを承認し、安いオファーを拒否する")
+      void canAccept() {
+        // given
+        Offer target = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .price(0.02F).statusId(OfferStatus.PENDING_PAYMENT.getId()).build();
+        Offer sibling = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .price(0.01F).statusId(OfferStatus.PENDING.getId()).build();
+        when(offerRepository.findAndLockSiblingsByUuid(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Flux.just(target, sibling));
+        when(offerRepository.rejectCheaper(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.PENDING.getId()), eq(OfferStatus.REJECTED.getId()), any()))
+            .thenReturn(Mono.just(1));
+        when(offerRepository.updateStatusByUuid(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.ACCEPTED.getId()), any()))
+            .thenReturn(Mono.just(1));
+        // when
+        Mono<Offer> actual = offerService.accept(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"));
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer)
+                .extracting(Offer::getUuid, Offer::getStatusId)
+                .containsExactly(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+                    OfferStatus.ACCEPTED.getId()))
             .verifyComplete();
+        verify(offerRepository).rejectCheaper(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.PENDING.getId()), eq(OfferStatus.REJECTED.getId()), any());
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("オファーが存在しない場合はNotFoundException")
+      void notFound() {
+        // given
+        when(offerRepository.findAndLockSiblingsByUuid(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Flux.empty());
+        // when
+        Mono<Offer> actual = offerService.accept(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"));
+        // then
+        StepVerifier.create(actual).expectError(NotFoundException.class).verify();
+      }
+
+      @Test
+      @DisplayName("同じ履歴書に承認済みのオファーがある場合はConflictException")
+      void alreadyAccepted() {
+        // given
+        Offer target = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .price(0.02F).statusId(OfferStatus.PENDING.getId()).build();
+        Offer accepted = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .price(0.03F).statusId(OfferStatus.ACCEPTED.getId()).build();
+        when(offerRepository.findAndLockSiblingsByUuid(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Flux.just(target, accepted));
+        // when
+        Mono<Offer> actual = offerService.accept(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"));
+        // then
+        StepVerifier.create(actual).expectError(ConflictException.class).verify();
+      }
+    }
+  }
+
+  @Nested
+  class UpdateOnlyStatus {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("申請中のオファーを1回のステートメントで拒否できる")
+      void canReject() {
+        // given
+        Offer offer = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .statusId(OfferStatus.REJECTED.getId()).build();
+        when(offerRepository.updateStatusByUuidAndStatusId(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.PENDING.getId()), eq(OfferStatus.REJECTED.getId()), any()))
+            .thenReturn(Mono.just(offer));
+        // when
+        Mono<Offer> actual = offerService.updateOnlyStatus(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"), OfferStatus.PENDING,
+            OfferStatus.REJECTED);
+        // then
+        StepVerifier.create(actual)
+            .assertNext(result -> assertThat(result.getStatusId())
+                .isEqualTo(OfferStatus.REJECTED.getId()))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("期待するステータスと一致する場合に更新できる")
+      void canUpdateOnlyStatusWithExpected() {
+        // given
+        Offer offer = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .statusId(OfferStatus.PENDING_PAYMENT.getId()).build();
+        when(offerRepository.updateStatusByUuidAndStatusId(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.PENDING.getId()), eq(OfferStatus.PENDING_PAYMENT.getId()), any()))
+            .thenReturn(Mono.just(offer));
+        when(offerRepository.findByUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Mono.error(new IllegalStateException("must not read again")));
+        // when
+        Mono<Offer> actual = offerService.updateOnlyStatus(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"), OfferStatus.PENDING,
+            OfferStatus.PENDING_PAYMENT);
+        // then
+        StepVerifier.create(actual)
+            .assertNext(result -> assertThat(result.getStatusId())
+                .isEqualTo(OfferStatus.PENDING_PAYMENT.getId()))
+            .verifyComplete();
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("承諾済のオファーは拒否できずConflictException")
+      void acceptedNotRejected() {
+        // given
+        when(offerRepository.updateStatusByUuidAndStatusId(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.PENDING.getId()), eq(OfferStatus.REJECTED.getId()), any()))
+            .thenReturn(Mono.empty());
+        when(offerRepository.findByUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Mono.just(Offer.builder()
+                .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+                .statusId(OfferStatus.ACCEPTED.getId()).build()));
+        // when
+        Mono<Offer> actual = offerService.updateOnlyStatus(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"), OfferStatus.PENDING,
+            OfferStatus.REJECTED);
+        // then
+        StepVerifier.create(actual).expectError(ConflictException.class).verify();
+      }
+
+      @Test
+      @DisplayName("現在のステータスが期待と異なる場合はConflictException")
+      void statusChanged() {
+        // given
+        when(offerRepository.updateStatusByUuidAndStatusId(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.PENDING.getId()), eq(OfferStatus.PENDING_PAYMENT.getId()), any()))
+            .thenReturn(Mono.empty());
+        when(offerRepository.findByUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Mono.just(Offer.builder()
+                .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+                .statusId(OfferStatus.REJECTED.getId()).build()));
+        // when
+        Mono<Offer> actual = offerService.updateOnlyStatus(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"), OfferStatus.PENDING,
+            OfferStatus.PENDING_PAYMENT);
+        // then
+        StepVerifier.create(actual).expectError(ConflictException.class).verify();
+      }
+
+      @Test
+      @DisplayName("期待するステータスで更新するオファーがない場合はNotFoundException")
+      void notFoundWithExpected() {
+        // given
+        when(offerRepository.updateStatusByUuidAndStatusId(
+            eq(UUID.fromString("12345678-1234-1234-1234-123456789abc")),
+            eq(OfferStatus.PENDING.getId()), eq(OfferStatus.PENDING_PAYMENT.getId()), any()))
+            .thenReturn(Mono.empty());
+        when(offerRepository.findByUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Mono.empty());
+        // when
+        Mono<Offer> actual = offerService.updateOnlyStatus(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"), OfferStatus.PENDING,
+            OfferStatus.PENDING_PAYMENT);
+        // then
+        StepVerifier.create(actual).expectError(NotFoundException.class).verify();
       }
     }
   }
@@ -0,0 +1,225 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.example.config.BlockingConfig;
+import org.example.config.PasswordHashingConfig;
+import org.example.config.SchedulerConfig;
+import org.example.error.exception.ServiceUnavailableException;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.security.crypto.password.PasswordEncoder;
+import reactor.core.Disposable;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Scheduler;
+import reactor.test.StepVerifier;
+
+class PasswordHashingServiceTest {
+
+  private Scheduler blockingScheduler;
+  private PasswordHashingService passwordHashingService;
+
+  @AfterEach
+  void tearDown() {
+    blockingScheduler.dispose();
+  }
+
+  private PasswordHashingService service(PasswordEncoder passwordEncoder, int concurrency,
+      int queueCapacity, boolean virtualThreads) {
+    BlockingConfig blockingConfig = new BlockingConfig();
+    blockingConfig.setVirtualThreads(virtualThreads);
+    blockingConfig.setMaxThreads(4);
+    blockingScheduler = new SchedulerConfig().blockingScheduler(blockingConfig);
+    PasswordHashingConfig config = new PasswordHashingConfig();
+    config.setConcurrency(concurrency);
+    config.setQueueCapacity(queueCapacity);
+    return new PasswordHashingService(passwordEncoder, blockingScheduler, config);
+  }
+
+  /**
+   * 呼び出したスレッド名をハッシュ値として返し、latchが開くまで戻らないエンコーダー
+   */
+  private static PasswordEncoder encoder(CountDownLatch latch) {
+    return new PasswordEncoder() {
+      @Override
+      public String encode(CharSequence rawPassword) {
+        try {
+          latch.await(5, TimeUnit.SECONDS);
+        } catch (InterruptedException e) {
+          Thread.currentThread().interrupt();
+        }
+        return Thread.currentThread().getName();
+      }
+
+      @Override
+      public boolean matches(CharSequence rawPassword, String encodedPassword) {
+        return encode(rawPassword).equals(encodedPassword);
+      }
+    };
+  }
+
+  @Nested
+  class Encode {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("blockingSchedulerのスレッドで計算する")
+      void offloaded() {
+        // given
+        passwordHashingService = service(encoder(new CountDownLatch(0)), 1, 0, false);
+        // when, then
+        StepVerifier.create(passwordHashingService.encode("password"))
+            .assertNext(thread -> assertThat(thread).startsWith("blocking"))
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("blocking.virtual-threadsが有効な場合は仮想スレッドで計算する")
+      void virtualThreads() {
+        // given
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode("password"))
+            .thenAnswer(inv -> String.valueOf(Thread.currentThread().isVirtual()));
+        passwordHashingService = service(passwordEncoder, 1, 0, true);
+        // when, then
+        StepVerifier.create(passwordHashingService.encode("password"))
+            .expectNext("true")
+            .verifyComplete();
+      }
+
+      @Test
+      @DisplayName("同時に計算するのはconcurrencyまでで、残りは順番を待つ")
+      void boundedConcurrency() throws InterruptedException {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode("password")).thenAnswer(inv -> {
+          started.incrementAndGet();
+          return encoder(latch).encode("password");
+        });
+        passwordHashingService = service(passwordEncoder, 1, 1, false);
+        // when
+        Mono<List<String>> actual = Flux.merge(passwordHashingService.encode("password"),
+            passwordHashingService.encode("password")).collectList().cache();
+        actual.subscribe();
+        Thread.sleep(200);
+        // then
+        assertThat(started.get()).isEqualTo(1);
+        latch.countDown();
+        StepVerifier.create(actual)
+            .assertNext(threads -> assertThat(threads).hasSize(2))
+            .verifyComplete();
+        assertThat(started.get()).isEqualTo(2);
+      }
+
+      @Test
+      @DisplayName("順番待ちを取り消した場合は計算せずに次の順番へ進む")
+      void cancelledWhileQueued() {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        AtomicInteger started = new AtomicInteger();
+        PasswordEncoder passwordEncoder = mock(PasswordEncoder.class);
+        when(passwordEncoder.encode("password")).thenAnswer(inv -> {
+          started.incrementAndGet();
+          return encoder(latch).encode("password");
+        });
+        passwordHashingService = service(passwordEncoder, 1, 1, false);
+        Mono<String> running = passwordHashingService.encode("password").cache();
+        running.subscribe();
+        passwordHashingService.encode("password").subscribe().dispose();
+        // when
+        latch.countDown();
+        // then
+        StepVerifier.create(running.then(passwordHashingService.encode("password")))
+            .assertNext(thread -> assertThat(thread).startsWith("blocking"))
+            .verifyComplete();
+        assertThat(started.get()).isEqualTo(2);
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("計算中と計算待ちが上限に達した場合はServiceUnavailableExceptionを返す")
+      void saturated() {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        passwordHashingService = service(encoder(latch), 1, 1, false);
+        Disposable running = passwordHashingService.encode("password").subscribe();
+        Disposable queued = passwordHashingService.encode("password").subscribe();
+        // when, then
+        StepVerifier.create(passwordHashingService.encode("password"))
+            .expectError(ServiceUnavailableException.class)
+            .verify();
+        latch.countDown();
+        running.dispose();
+        queued.dispose();
+      }
+
+      @Test
+      @DisplayName("仮想スレッドで実行中のタスクがqueue-capacityに達している場合は503を返す")
+      void virtualThreadsSaturated() throws InterruptedException {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        BlockingConfig blockingConfig = new BlockingConfig();
+        blockingConfig.setVirtualThreads(true);
+        blockingConfig.setQueueCapacity(1);
+        blockingScheduler = new SchedulerConfig().blockingScheduler(blockingConfig);
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        config.setConcurrency(2);
+        config.setQueueCapacity(0);
+        passwordHashingService = new PasswordHashingService(encoder(latch), blockingScheduler,
+            config);
+        Disposable running = passwordHashingService.encode("password").subscribe();
+        Thread.sleep(200);
+        // when, then
+        StepVerifier.create(passwordHashingService.encode("password"))
+            .expectError(ServiceUnavailableException.class)
+            .verify();
+        latch.countDown();
+        running.dispose();
+      }
+
+      @Test
+      @DisplayName("blockingSchedulerのキューが溢れた場合はServiceUnavailableExceptionを返す")
+      void schedulerSaturated() throws InterruptedException {
+        // given
+        CountDownLatch latch = new CountDownLatch(1);
+        BlockingConfig blockingConfig = new BlockingConfig();
+        blockingConfig.setMaxThreads(1);
+        blockingConfig.setQueueCapacity(1);
+        blockingScheduler = new SchedulerConfig().blockingScheduler(blockingConfig);
+        PasswordHashingConfig config = new PasswordHashingConfig();
+        config.setConcurrency(3);
+        config.setQueueCapacity(0);
+        passwordHashingService = new PasswordHashingService(encoder(latch), blockingScheduler,
+            config);
+        Disposable running = passwordHashingService.encode("password").subscribe();
+        Thread.sleep(200);
+        Disposable queued = passwordHashingService.encode("password").subscribe();
+        // when, then
+        StepVerifier.create(passwordHashingService.encode("password"))
+            .expectError(ServiceUnavailableException.class)
+            .verify();
+        latch.countDown();
+        running.dispose();
+        queued.dispose();
+      }
+    }
+  }
+}
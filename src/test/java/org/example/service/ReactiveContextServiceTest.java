@@ -0,0 +1,63 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.example.constant.ContextKeys;
+import org.example.persistence.entity.Applicant;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.mock.http.server.reactive.MockServerHttpRequest;
+import org.springframework.mock.web.server.MockServerWebExchange;
+
+class ReactiveContextServiceTest {
+
+  private final ReactiveContextService reactiveContextService = new ReactiveContextService();
+
+  @Nested
+  class LazyAttribute {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("参照されるまで評価されず、評価結果はメモ化される")
+      void evaluatedOnce() {
+        // given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/applicants/current"));
+        AtomicInteger calls = new AtomicInteger();
+        Applicant applicant = Applicant.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")).build();
+        // when
+        reactiveContextService.setLazyAttribute(exchange, ContextKeys.APPLICANT_KEY, () -> {
+          calls.incrementAndGet();
+          return applicant;
+        });
+        // then
+        assertThat(calls.get()).isZero();
+        Applicant first = reactiveContextService.getAttribute(exchange, ContextKeys.APPLICANT_KEY);
+        Applicant second = reactiveContextService.getAttribute(exchange, ContextKeys.APPLICANT_KEY);
+        assertThat(first).isSameAs(applicant);
+        assertThat(second).isSameAs(applicant);
+        assertThat(calls.get()).isEqualTo(1);
+      }
+
+      @Test
+      @DisplayName("評価結果がnullの場合は属性を持たないとみなす")
+      void absent() {
+        // given
+        MockServerWebExchange exchange = MockServerWebExchange.from(
+            MockServerHttpRequest.get("/api/v1/applicants/current"));
+        // when
+        reactiveContextService.setLazyAttribute(exchange, ContextKeys.COMPANY_KEY, () -> null);
+        // then
+        assertThat(reactiveContextService.containsAttributes(exchange, ContextKeys.COMPANY_KEY))
+            .isFalse();
+      }
+    }
+  }
+}
@@ -0,0 +1,111 @@
+package org.example.service;
+
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import java.util.List;
+import java.util.UUID;
+import org.example.config.ResumeExpiryConfig;
+import org.example.constant.MintStatus;
+import org.example.persistence.repository.ResumeRepository;
+import org.example.persistence.repository.SchedulerLeaseRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class ResumeExpirySchedulerTest {
+
+  private ResumeExpiryScheduler resumeExpiryScheduler;
+  @Mock
+  private ResumeRepository resumeRepository;
+  @Mock
+  private SchedulerLeaseRepository schedulerLeaseRepository;
+  @Mock
+  private ResumeService resumeService;
+
+  @BeforeEach
+  void setUp() {
+    ResumeExpiryConfig resumeExpiryConfig = new ResumeExpiryConfig();
+    resumeExpiryConfig.setBatchSize(2);
+    resumeExpiryConfig.setMaxBatches(3);
+    resumeExpiryScheduler = new ResumeExpiryScheduler(resumeRepository,
+        schedulerLeaseRepository, resumeService, resumeExpiryConfig);
+  }
+
+  @Nested
+  class Sweep {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("バッチが埋まらなくなるまで期限切れにする")
+      void expireUntilPartialBatch() {
+        // given
+        List<UUID> first = List.of(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+            UUID.fromString("12345678-1234-1234-1234-123456789abd"));
+        List<UUID> second = List.of(UUID.fromString("12345678-1234-1234-1234-123456789abe"));
+        when(schedulerLeaseRepository.acquire(eq(ResumeExpiryScheduler.LEASE_NAME), anyString(),
+            any(), any()))
+            .thenReturn(Mono.just(1));
+        when(resumeRepository.findDueUuids(eq(MintStatus.PUBLISHED.getId()), any(), eq(2)))
+            .thenReturn(Flux.fromIterable(first), Flux.fromIterable(second));
+        when(resumeService.expireAll(first)).thenReturn(Mono.just(2));
+        when(resumeService.expireAll(second)).thenReturn(Mono.just(1));
+        // when
+        Mono<Integer> actual = resumeExpiryScheduler.sweep();
+        // then
+        StepVerifier.create(actual).expectNext(3).verifyComplete();
+        verify(resumeRepository, times(2)).findDueUuids(any(), any(), anyInt());
+      }
+
+      @Test
+      @DisplayName("max-batchesに達したら次の掃除に回す")
+      void stopAtMaxBatches() {
+        // given
+        List<UUID> batch = List.of(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+            UUID.fromString("12345678-1234-1234-1234-123456789abd"));
+        when(schedulerLeaseRepository.acquire(eq(ResumeExpiryScheduler.LEASE_NAME), anyString(),
+            any(), any()))
+            .thenReturn(Mono.just(1));
+        when(resumeRepository.findDueUuids(eq(MintStatus.PUBLISHED.getId()), any(), eq(2)))
+            .thenReturn(Flux.fromIterable(batch));
+        when(resumeService.expireAll(batch)).thenReturn(Mono.just(2));
+        // when
+        Mono<Integer> actual = resumeExpiryScheduler.sweep();
+        // then
+        StepVerifier.create(actual).expectNext(6).verifyComplete();
+        verify(resumeRepository, times(3)).findDueUuids(any(), any(), anyInt());
+      }
+
+      @Test
+      @DisplayName("リースを取得できない場合は何もしない")
+      void leaseHeldByOtherNode() {
+        // given
+        when(schedulerLeaseRepository.acquire(eq(ResumeExpiryScheduler.LEASE_NAME), anyString(),
+            any(), any()))
+            .thenReturn(Mono.just(0));
+        // when
+        Mono<Integer> actual = resumeExpiryScheduler.sweep();
+        // then
+        StepVerifier.create(actual).expectNext(0).verifyComplete();
+        verify(resumeRepository, never()).findDueUuids(any(), any(), anyInt());
+      }
+    }
+  }
+}
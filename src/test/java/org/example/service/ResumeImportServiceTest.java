@@ -0,0 +1,221 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.groups.Tuple.tuple;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.UUID;
+import org.example.config.BatchConfig;
+import org.example.constant.MintStatus;
+import org.example.error.exception.BadRequestException;
+import org.example.persistence.dto.ResumeImportProgress;
+import org.example.persistence.entity.Resume;
+import org.example.persistence.repository.ResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.core.io.buffer.DataBuffer;
+import org.springframework.core.io.buffer.DefaultDataBufferFactory;
+import org.springframework.http.converter.json.Jackson2ObjectMapperBuilder;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
+
+@ExtendWith(SpringExtension.class)
+class ResumeImportServiceTest {
+
+  private static final UUID APPLICANT = UUID.fromString("12345678-1234-1234-1234-123456789abc");
+
+  private ResumeImportService resumeImportService;
+  private final List<Resume> inserted = new ArrayList<>();
+  @Mock
+  private ResumeRepository resumeRepository;
+  @Mock
+  private TransactionalOperator transactionalOperator;
+
+  @BeforeEach
+  void setUp() {
+    BatchConfig batchConfig = new BatchConfig();
+    batchConfig.setChunkSize(2);
+    resumeImportService = new ResumeImportService(resumeRepository, transactionalOperator,
+        batchConfig, Jackson2ObjectMapperBuilder.json().build());
+    when(transactionalOperator.transactional(any(Mono.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(resumeRepository.insertAll(anyList())).thenAnswer(invocation -> {
+      List<Resume> resumes = invocation.getArgument(0);
+      inserted.addAll(resumes);
+      return Flux.fromIterable(resumes);
+    });
+  }
+
+  /**
+   * 行の途中で分割したDataBufferを返す
+   */
+  private static Flux<DataBuffer> body(String text) {
+    byte[] bytes = text.getBytes(StandardCharsets.UTF_8);
+    return Flux.range(0, (bytes.length + 6) / 7)
+        .map(i -> DefaultDataBufferFactory.sharedInstance
+            .wrap(Arrays.copyOfRange(bytes, i * 7, Math.min(bytes.length, i * 7 + 7))));
+  }
+
+  @Nested
+  class ImportCsv {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("チャンクごとに登録し、取り込めない行を数えて累計の進捗を返す")
+      void canImportCsv() {
+        // given
+        String csv = """
+            applicantUuid,education,skills
+            12345678-1234-1234-1234-123456789abc,2021年 A大学卒業,英検1級
+            ,"2020年 B大学卒業, ""首席""",
+            not-a-uuid,2019年 C大学卒業,英検2級
+            12345678-1234-1234-1234-123456789abc,2018年 D大学卒業
+            """;
+        // when
+        Flux<ResumeImportProgress> actual = resumeImportService.importCsv(APPLICANT, body(csv));
+        // then
+        StepVerifier.create(actual)
+            .expectNext(new ResumeImportProgress(2, 2, 0))
+            .expectNext(new ResumeImportProgress(4, 2, 2))
+            .verifyComplete();
+        assertThat(inserted)
+            .extracting(Resume::getApplicantUuid, Resume::getEducation, Resume::getSkills,
+                Resume::getMintStatusId)
+            .containsExactly(
+                tuple(APPLICANT, "2021年 A大学卒業", "英検1級", MintStatus.PENDING.getId()),
+                tuple(APPLICANT, "2020年 B大学卒業, \"首席\"", null, MintStatus.PENDING.getId()));
+        assertThat(inserted).extracting(Resume::getUuid).doesNotContainNull();
+      }
+
+      @Test
+      @DisplayName("クォートの中の改行を列の値として読み、取り込まない列は読み飛ばす")
+      void multilineField() {
+        // given
+        String csv = """
+            id,uuid,applicantUuid,education,skills,createdAt
+            1,12345678-1234-5678-1234-123456789abc,,"2021年 A大学卒業
+            2023年 A大学院修了","英検1級,
+
+            TOEIC 900点",2024-01-01 00:00:00
+            """;
+        // when
+        Flux<ResumeImportProgress> actual = resumeImportService.importCsv(APPLICANT, body(csv));
+        // then
+        StepVerifier.create(actual)
+            .expectNext(new ResumeImportProgress(1, 1, 0))
+            .verifyComplete();
+        assertThat(inserted)
+            .extracting(Resume::getApplicantUuid, Resume::getEducation, Resume::getSkills)
+            .containsExactly(tuple(APPLICANT, "2021年 A大学卒業\n2023年 A大学院修了",
+                "英検1級,\n\nTOEIC 900点"));
+        assertThat(inserted).extracting(Resume::getUuid)
+            .doesNotContain(UUID.fromString("12345678-1234-5678-1234-123456789abc"));
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("他の応募者を指す行は取り込まない")
+      void otherApplicant() {
+        // given
+        String csv = """
+            applicantUuid,education
+            12345678-1234-1234-1234-123456789abd,2021年 A大学卒業
+            """;
+        // when
+        Flux<ResumeImportProgress> actual = resumeImportService.importCsv(APPLICANT, body(csv));
+        // then
+        StepVerifier.create(actual)
+            .expectNext(new ResumeImportProgress(1, 0, 1))
+            .verifyComplete();
+        assertThat(inserted).isEmpty();
+      }
+
+      @Test
+      @DisplayName("クォートが閉じないまま終わった最後のレコードは取り込まない")
+      void unterminatedQuote() {
+        // given
+        String csv = """
+            education,skills
+            2021年 A大学卒業,英検1級
+            "2020年 B大学卒業,英検2級
+            """;
+        // when
+        Flux<ResumeImportProgress> actual = resumeImportService.importCsv(APPLICANT, body(csv));
+        // then
+        StepVerifier.create(actual)
+            .expectNext(new ResumeImportProgress(2, 1, 1))
+            .verifyComplete();
+        assertThat(inserted).extracting(Resume::getEducation).containsExactly("2021年 A大学卒業");
+      }
+
+      @Test
+      @DisplayName("ヘッダーのクォートが閉じていない場合はBadRequestExceptionを返す")
+      void malformedHeader() {
+        // given
+        String csv = """
+            "education,skills
+            2021年 A大学卒業,英検1級
+            """;
+        // when
+        Flux<ResumeImportProgress> actual = resumeImportService.importCsv(APPLICANT, body(csv));
+        // then
+        StepVerifier.create(actual).expectError(BadRequestException.class).verify();
+        verifyNoInteractions(resumeRepository);
+      }
+    }
+  }
+
+  @Nested
+  class ImportNdjson {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("1行ずつJSONを読み、壊れた行と他の応募者の行は取り込まない")
+      void canImportNdjson() {
+        // given
+        String ndjson = """
+            {"applicantUuid":"12345678-1234-1234-1234-123456789abc","education":"2021年 A大学卒業"}
+            {"applicantUuid":
+            {"education":"2020年 B大学卒業"}
+            {"applicantUuid":"12345678-1234-1234-1234-123456789abd","education":"2019年 C大学卒業"}
+            """;
+        // when
+        Flux<ResumeImportProgress> actual =
+            resumeImportService.importNdjson(APPLICANT, body(ndjson));
+        // then
+        StepVerifier.create(actual)
+            .expectNext(new ResumeImportProgress(2, 1, 1))
+            .expectNext(new ResumeImportProgress(4, 2, 2))
+            .verifyComplete();
+        assertThat(inserted)
+            .extracting(Resume::getApplicantUuid, Resume::getEducation)
+            .containsExactly(tuple(APPLICANT, "2021年 A大学卒業"),
+                tuple(APPLICANT, "2020年 B大学卒業"));
+      }
+    }
+  }
+}
@@ -2,11 +2,21 @@ package org.example.service;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
+import java.util.List;
 import java.util.UUID;
+import org.example.constant.MintStatus;
+import org.example.constant.OfferStatus;
+import org.example.error.exception.ConflictException;
+import org.example.error.exception.NotFoundException;
 import org.example.persistence.entity.Resume;
+import org.example.persistence.repository.OfferRepository;
 import org.example.persistence.repository.ResumeRepository;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -15,6 +25,7 @@ import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.springframework.data.domain.Sort;
 import org.springframework.test.context.junit.jupiter.SpringExtension;
+import org.springframework.transaction.reactive.TransactionalOperator;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
 import reactor.test.StepVerifier;
@@ -26,6 +37,10 @@ class ResumeServiceTest {
   private ResumeService resumeService;
   @Mock
   private ResumeRepository resumeRepository;
+  @Mock
+  private OfferRepository offerRepository;
+  @Mock
+  private TransactionalOperator transactionalOperator;
 
   @Nested
   class FindAll {
@@ -91,6 +106,41 @@ class ResumeServiceTest {
     }
   }
 
+  @Nested
+  class FindAllInPages {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("ページが埋まっている間は最後の行の続きを読む")
+      void canFindAllInPages() {
+        // given
+        Resume resume1 = Resume.builder().id(1L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0)).build();
+        Resume resume2 = Resume.builder().id(2L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .updatedAt(LocalDateTime.of(2024, 1, 2, 0, 0)).build();
+        Resume resume3 = Resume.builder().id(3L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abe"))
+            .updatedAt(LocalDateTime.of(2024, 1, 3, 0, 0)).build();
+        when(resumeRepository.findFirstPage(2)).thenReturn(Flux.just(resume3, resume2));
+        when(resumeRepository.findPageAfter(LocalDateTime.of(2024, 1, 2, 0, 0), 2L, 2))
+            .thenReturn(Flux.just(resume1));
+        // when
+        Flux<Resume> actual = resumeService.findAllInPages(2);
+        // then
+        StepVerifier.create(actual.map(Resume::getUuid))
+            .expectNext(UUID.fromString("12345678-1234-1234-1234-123456789abe"),
+                UUID.fromString("12345678-1234-1234-1234-123456789abd"),
+                UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .verifyComplete();
+      }
+    }
+  }
+
   @Nested
   class FindById {
 
@@ -256,4 +306,86 @@ class ResumeServiceTest {
       }
     }
   }
-}
\ No newline at end of file
+
+  @Nested
+  class ExpireAll {
+
+    @BeforeEach
+    void setUp() {
+      when(transactionalOperator.transactional(any(Mono.class)))
+          .thenAnswer(invocation -> invocation.getArgument(0));
+    }
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("申請中のオファーを拒否し、履歴書をまとめて期限切れにする")
+      void canExpireAll() {
+        // given
+        List<UUID> uuids = List.of(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
+            UUID.fromString("12345678-1234-1234-1234-123456789abd"));
+        when(offerRepository.updateStatusByResumeUuidInAndStatusId(eq(uuids),
+            eq(MintStatus.EXPIRED.getId()), eq(OfferStatus.PENDING.getId()),
+            eq(OfferStatus.REJECTED.getId()), any()))
+            .thenReturn(Mono.just(3));
+        when(resumeRepository.updateMintStatusByUuidInAndMintStatusId(eq(uuids),
+            eq(MintStatus.PUBLISHED.getId()), eq(MintStatus.EXPIRED.getId()), any()))
+            .thenReturn(Mono.just(2));
+        // when
+        Mono<Integer> actual = resumeService.expireAll(uuids);
+        // then
+        StepVerifier.create(actual).expectNext(2).verifyComplete();
+      }
+
+      @Test
+      @DisplayName("空のリストの場合はクエリを発行しない")
+      void empty() {
+        // when
+        Mono<Integer> actual = resumeService.expireAll(List.of());
+        // then
+        StepVerifier.create(actual).expectNext(0).verifyComplete();
+        verifyNoInteractions(offerRepository, resumeRepository);
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("1件指定で履歴書が存在しない場合はNotFoundException")
+      void notFound() {
+        // given
+        when(resumeRepository.updateMintStatusByUuidInAndMintStatusId(any(), any(), any(), any()))
+            .thenReturn(Mono.just(0));
+        when(resumeRepository.findByUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Mono.empty());
+        // when
+        Mono<Resume> actual = resumeService.expire(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"));
+        // then
+        StepVerifier.create(actual).expectError(NotFoundException.class).verify();
+      }
+
+      @Test
+      @DisplayName("1件指定で履歴書がミント済でない場合はConflictException")
+      void notPublished() {
+        // given
+        when(resumeRepository.updateMintStatusByUuidInAndMintStatusId(any(), any(), any(), any()))
+            .thenReturn(Mono.just(0));
+        when(resumeRepository.findByUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .thenReturn(Mono.just(Resume.builder()
+                .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+                .mintStatusId(MintStatus.EXPIRED.getId()).build()));
+        // when
+        Mono<Resume> actual = resumeService.expire(
+            UUID.fromString("12345678-1234-1234-1234-123456789abc"));
+        // then
+        StepVerifier.create(actual).expectError(ConflictException.class).verify();
+        verifyNoInteractions(offerRepository);
+      }
+    }
+  }
+}
@@ -0,0 +1,128 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+import com.auth0.jwt.exceptions.SignatureVerificationException;
+import com.auth0.jwt.interfaces.DecodedJWT;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import java.time.Instant;
+import java.util.UUID;
+import org.example.config.JwtConfig;
+import org.example.persistence.entity.Applicant;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.springframework.test.context.junit.jupiter.SpringExtension;
+
+@ExtendWith(SpringExtension.class)
+class TokenCacheServiceTest {
+
+  private TokenCacheService tokenCacheService;
+  private MeterRegistry meterRegistry;
+  @Mock
+  private JwtService jwtService;
+  @Mock
+  private Base64Service base64Service;
+  @Mock
+  private DecodedJWT decodedJWT;
+
+  private final Applicant applicant = Applicant.builder()
+      .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc")).firstName("太郎").build();
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    tokenCacheService = new TokenCacheService(jwtService, base64Service, new JwtConfig(),
+        meterRegistry);
+    when(base64Service.decode("token")).thenReturn("jwt");
+  }
+
+  private double count(String result) {
+    return meterRegistry.get("cache.gets").tag("cache", "jwt").tag("result", result)
+        .functionCounter().count();
+  }
+
+  @Nested
+  class DecodeApplicant {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("2回目以降は署名検証をせずにキャッシュから返す")
+      void cacheHit() {
+        // given
+        when(jwtService.verify("jwt")).thenReturn(decodedJWT);
+        when(jwtService.toApplicant(decodedJWT)).thenReturn(applicant);
+        when(decodedJWT.getExpiresAtAsInstant()).thenReturn(Instant.now().plusSeconds(60));
+        // when
+        Applicant first = tokenCacheService.decodeApplicant("token");
+        Applicant second = tokenCacheService.decodeApplicant("token");
+        // then
+        assertThat(first).isSameAs(applicant);
+        assertThat(second).isSameAs(applicant);
+        assertThat(count("miss")).isEqualTo(1);
+        assertThat(count("hit")).isEqualTo(1);
+        verify(jwtService, times(1)).verify("jwt");
+      }
+
+      @Test
+      @DisplayName("有効期限を過ぎたトークンはキャッシュしない")
+      void expired() {
+        // given
+        when(jwtService.verify("jwt")).thenReturn(decodedJWT);
+        when(jwtService.toApplicant(decodedJWT)).thenReturn(applicant);
+        when(decodedJWT.getExpiresAtAsInstant()).thenReturn(Instant.now().minusSeconds(1));
+        // when
+        tokenCacheService.decodeApplicant("token");
+        tokenCacheService.decodeApplicant("token");
+        // then
+        assertThat(count("hit")).isZero();
+        verify(jwtService, times(2)).verify("jwt");
+      }
+
+      @Test
+      @DisplayName("JWTのままのCookieはBase64でデコードせずに検証する")
+      void rawJwt() {
+        // given
+        when(jwtService.verify("header.payload.signature")).thenReturn(decodedJWT);
+        when(jwtService.toApplicant(decodedJWT)).thenReturn(applicant);
+        when(decodedJWT.getExpiresAtAsInstant()).thenReturn(Instant.now().plusSeconds(60));
+        // when
+        Applicant actual = tokenCacheService.decodeApplicant("header.payload.signature");
+        // then
+        assertThat(actual).isSameAs(applicant);
+        verify(base64Service, never()).decode(anyString());
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("検証に失敗したトークンはキャッシュしない")
+      void invalid() {
+        // given
+        when(jwtService.verify("jwt")).thenThrow(SignatureVerificationException.class);
+        // when, then
+        assertThrows(SignatureVerificationException.class,
+            () -> tokenCacheService.decodeApplicant("token"));
+        assertThrows(SignatureVerificationException.class,
+            () -> tokenCacheService.decodeApplicant("token"));
+        verify(jwtService, times(2)).verify("jwt");
+      }
+    }
+  }
+}
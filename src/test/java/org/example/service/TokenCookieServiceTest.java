@@ -0,0 +1,83 @@
+package org.example.service;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import com.auth0.jwt.interfaces.DecodedJWT;
+import java.time.Duration;
+import java.util.UUID;
+import org.example.config.JwtConfig;
+import org.example.constant.CookieKeys;
+import org.example.persistence.entity.Applicant;
+import org.example.persistence.entity.Company;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.api.Test;
+import org.springframework.http.ResponseCookie;
+
+class TokenCookieServiceTest {
+
+  private final JwtService jwtService;
+  private final TokenCookieService tokenCookieService;
+
+  TokenCookieServiceTest() {
+    JwtConfig jwtConfig = new JwtConfig();
+    jwtConfig.setSecretKey("secret");
+    jwtConfig.setKeyId("v1");
+    jwtConfig.setTtl(3600000L);
+    jwtService = new JwtService(jwtConfig);
+    tokenCookieService = new TokenCookieService(jwtService, jwtConfig);
+  }
+
+  @Nested
+  class ApplicantCookie {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("署名したJWTをそのままCookieの値にする")
+      void rawJwt() {
+        // given
+        Applicant applicant = Applicant.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .firstName("太郎").lastName("山田").email("xxx@example.org").build();
+        // when
+        ResponseCookie actual = tokenCookieService.applicantCookie(applicant);
+        // then
+        assertThat(actual.getName()).isEqualTo(CookieKeys.APPLICANT_TOKEN);
+        assertThat(actual.getValue()).matches("[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+\\.[A-Za-z0-9_-]+");
+        assertThat(actual.getPath()).isEqualTo("/");
+        assertThat(actual.isHttpOnly()).isTrue();
+        assertThat(actual.getMaxAge()).isEqualTo(Duration.ofHours(1));
+        assertThat(jwtService.decodeApplicant(actual.getValue()))
+            .extracting(Applicant::getUuid, Applicant::getFirstName)
+            .containsExactly(UUID.fromString("12345678-1234-1234-1234-123456789abc"), "太郎");
+      }
+    }
+  }
+
+  @Nested
+  class CompanyCookie {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("署名したJWTをそのままCookieの値にする")
+      void rawJwt() {
+        // given
+        Company company = Company.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .name("A株式会社").email("xxx@example.org").build();
+        // when
+        ResponseCookie actual = tokenCookieService.companyCookie(company);
+        // then
+        assertThat(actual.getName()).isEqualTo(CookieKeys.COMPANY_TOKEN);
+        DecodedJWT decodedJWT = jwtService.verify(actual.getValue());
+        assertThat(decodedJWT.getClaim("name").asString()).isEqualTo("A株式会社");
+      }
+    }
+  }
+}
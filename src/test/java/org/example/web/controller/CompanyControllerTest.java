@@ -3,20 +3,23 @@ package org.example.web.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.when;
 
 import java.util.UUID;
 import org.example.config.JwtConfig;
+import org.example.config.PaginationConfig;
 import org.example.constant.ContextKeys;
 import org.example.constant.CookieKeys;
 import org.example.persistence.entity.Company;
-import org.example.service.Base64Service;
 import org.example.service.CompanyService;
-import org.example.service.JwtService;
+import org.example.service.CursorService;
 import org.example.service.ReactiveContextService;
+import org.example.service.TokenCookieService;
 import org.example.web.filter.AuthenticationWebFilter;
 import org.example.web.filter.AuthorizationWebFilter;
+import org.example.web.filter.LoginRateLimitWebFilter;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
@@ -27,7 +30,9 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
+import org.springframework.http.ResponseCookie;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
@@ -35,16 +40,16 @@ import reactor.core.publisher.Mono;
 @WebFluxTest(
     controllers = CompanyController.class,
     excludeFilters = {@ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
-        classes = {AuthenticationWebFilter.class, AuthorizationWebFilter.class})})
+        classes = {AuthenticationWebFilter.class, AuthorizationWebFilter.class,
+            LoginRateLimitWebFilter.class})})
 @AutoConfigureWebTestClient
+@Import({CursorService.class, PaginationConfig.class})
 class CompanyControllerTest {
 
   @MockBean
   private CompanyService applicantService;
   @MockBean
-  private JwtService jwtService;
-  @MockBean
-  private Base64Service base64Service;
+  private TokenCookieService tokenCookieService;
   @MockBean
   private ReactiveContextService reactiveContextService;
   @MockBean
@@ -81,7 +86,7 @@ class CompanyControllerTest {
             .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abe")).name("C株式会社")
             .email("zzz@example.org").phone("090-1111-2222").address("東京都千代田区")
             .passwordDigest("").build();
-        when(applicantService.findAll())
+        when(applicantService.findPage(any(), anyInt()))
             .thenReturn(Flux.just(applicant3, applicant2, applicant1));
         // when, then
         webTestClient.get()
@@ -200,8 +205,8 @@ class CompanyControllerTest {
             .passwordDigest("password_digest").build();
         when(applicantService.save(any(Company.class), eq("password")))
             .thenReturn(Mono.just(applicant1));
-        when(jwtService.encodeCompany(any(Company.class))).thenReturn("jwt");
-        when(base64Service.encode("jwt")).thenReturn("base64");
+        when(tokenCookieService.companyCookie(any(Company.class)))
+            .thenReturn(ResponseCookie.from(CookieKeys.COMPANY_TOKEN, "jwt").build());
         // when, then
         webTestClient.post()
             .uri("/api/v1/companies")
@@ -218,7 +223,7 @@ class CompanyControllerTest {
             )
             .exchange()
             .expectStatus().isOk()
-            .expectCookie().valueEquals(CookieKeys.COMPANY_TOKEN, "base64");
+            .expectCookie().valueEquals(CookieKeys.COMPANY_TOKEN, "jwt");
       }
     }
   }
@@ -239,8 +244,8 @@ class CompanyControllerTest {
             .email("xxx@example.org").phone("090-1234-5678").address("東京都渋谷区").build();
         when(applicantService.login("xxx@example.org", "password"))
             .thenReturn(Mono.just(applicant1));
-        when(jwtService.encodeCompany(any(Company.class))).thenReturn("jwt");
-        when(base64Service.encode("jwt")).thenReturn("base64");
+        when(tokenCookieService.companyCookie(any(Company.class)))
+            .thenReturn(ResponseCookie.from(CookieKeys.COMPANY_TOKEN, "jwt").build());
         // when, then
         webTestClient.post()
             .uri("/api/v1/companies/login")
@@ -253,7 +258,7 @@ class CompanyControllerTest {
                 """)
             .exchange()
             .expectStatus().isOk()
-            .expectCookie().valueEquals(CookieKeys.COMPANY_TOKEN, "base64");
+            .expectCookie().valueEquals(CookieKeys.COMPANY_TOKEN, "jwt");
       }
     }
   }
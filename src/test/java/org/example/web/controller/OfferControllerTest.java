@@ -3,17 +3,24 @@ package org.example.web.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.Mockito.when;
 
+import java.time.LocalDateTime;
 import java.util.UUID;
+import org.example.config.PaginationConfig;
 import org.example.constant.ContextKeys;
-import org.example.persistence.dto.OfferDetailView;
+import org.example.constant.HeaderKeys;
+import org.example.error.GlobalExceptionHandler;
+import org.example.persistence.dto.Cursor;
 import org.example.persistence.entity.Company;
 import org.example.persistence.entity.Offer;
+import org.example.service.CursorService;
 import org.example.service.OfferService;
 import org.example.service.ReactiveContextService;
 import org.example.web.filter.AuthenticationWebFilter;
 import org.example.web.filter.AuthorizationWebFilter;
+import org.example.web.filter.LoginRateLimitWebFilter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -23,17 +30,21 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @WebFluxTest(
     controllers = OfferController.class,
     excludeFilters = {@ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
-        classes = {AuthenticationWebFilter.class, AuthorizationWebFilter.class})})
+        classes = {AuthenticationWebFilter.class, AuthorizationWebFilter.class,
+            LoginRateLimitWebFilter.class})})
 @AutoConfigureWebTestClient
+@Import({CursorService.class, PaginationConfig.class, GlobalExceptionHandler.class})
 class OfferControllerTest {
 
   @MockBean
@@ -41,6 +52,8 @@ class OfferControllerTest {
   @MockBean
   private ReactiveContextService reactiveContextService;
   @Autowired
+  private CursorService cursorService;
+  @Autowired
   private WebTestClient webTestClient;
 
   @Nested
@@ -69,7 +82,7 @@ class OfferControllerTest {
             .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abe"))
             .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abe"))
             .price(0.01F).message("よろしくお願いします。").statusId(0).build();
-        when(offerService.findAll())
+        when(offerService.findPage(any(), anyInt()))
             .thenReturn(Flux.just(offer3, offer2, offer1));
         // when, then
         webTestClient.get()
@@ -98,6 +111,89 @@ class OfferControllerTest {
                     )
             );
       }
+
+      @Test
+      @DisplayName("ページが埋まった場合は次のページのカーソルを返す")
+      void returnsNextCursor() {
+        // given
+        Offer offer1 = Offer.builder().id(2L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0)).statusId(0).build();
+        Offer offer2 = Offer.builder().id(1L)
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .updatedAt(LocalDateTime.of(2024, 1, 1, 0, 0)).statusId(0).build();
+        when(offerService.findPage(any(), anyInt()))
+            .thenReturn(Flux.just(offer1, offer2));
+        // when, then
+        webTestClient.get()
+            .uri("/api/v1/offers?limit=2")
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().value(HeaderKeys.NEXT_CURSOR, cursor ->
+                assertThat(cursorService.decode(cursor))
+                    .extracting(Cursor::getUpdatedAt, Cursor::getId)
+                    .containsExactly(LocalDateTime.of(2024, 1, 1, 0, 0), 1L))
+            .expectBodyList(Offer.class)
+            .hasSize(2);
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("不正なカーソルは400を返す")
+      void invalidCursor() {
+        // when, then
+        webTestClient.get()
+            .uri("/api/v1/offers?cursor=invalid")
+            .exchange()
+            .expectStatus().isBadRequest();
+      }
+    }
+  }
+
+  @Nested
+  class Stream {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("NDJSONでオファーを1件ずつ受け取れる")
+      void streamTheOffers() {
+        // given
+        Offer offer1 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .price(0.01F).message("よろしくお願いします。").statusId(0).build();
+        Offer offer2 = Offer.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .price(0.01F).message("よろしくお願いします。").statusId(0).build();
+        when(offerService.findAllInPages(anyInt()))
+            .thenReturn(Flux.just(offer2, offer1));
+        // when
+        Flux<Offer> actual = webTestClient.get()
+            .uri("/api/v1/offers")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Offer.class)
+            .getResponseBody();
+        // then
+        StepVerifier.create(actual)
+            .assertNext(offer -> assertThat(offer.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-1234-1234-123456789abd")))
+            .assertNext(offer -> assertThat(offer.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .verifyComplete();
+      }
     }
   }
 
@@ -149,7 +245,7 @@ class OfferControllerTest {
       @DisplayName("ResumeUUIDに一致するオファーを全件取得できる")
       void canFindAllTheOffersByResumeUuid() {
         // given
-        OfferDetailView offer1 = OfferDetailView.builder()
+        Offer offer1 = Offer.builder()
             .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
             .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
             .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
@@ -162,12 +258,12 @@ class OfferControllerTest {
             .uri("/api/v1/offers/resume/12345678-1234-1234-1234-123456789abc")
             .exchange()
             .expectStatus().isOk()
-            .expectBodyList(OfferDetailView.class)
+            .expectBodyList(Offer.class)
             .consumeWith(result ->
                 assertThat(result.getResponseBody())
-                    .extracting(OfferDetailView::getUuid, OfferDetailView::getResumeUuid,
-                        OfferDetailView::getCompanyUuid, OfferDetailView::getCompanyName,
-                        OfferDetailView::getPrice, OfferDetailView::getMessage, OfferDetailView::getStatusId)
+                    .extracting(Offer::getUuid, Offer::getResumeUuid,
+                        Offer::getCompanyUuid, Offer::getCompanyName,
+                        Offer::getPrice, Offer::getMessage, Offer::getStatusId)
                     .containsExactly(
                         tuple(UUID.fromString("12345678-1234-1234-1234-123456789abc"),
                         UUID.fromString("12345678-1234-1234-1234-123456789abc"),
@@ -194,7 +290,7 @@ class OfferControllerTest {
             .resumeUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
             .companyUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
             .price(0.01F).message("よろしくお願いします。").statusId(0).build();
-        when(offerService.save(any(Offer.class)))
+        when(offerService.save(any(Company.class), any(Offer.class)))
             .thenReturn(Mono.just(offer));
         when(reactiveContextService.getAttribute(any(ServerWebExchange.class),
             any(ContextKeys.class)))
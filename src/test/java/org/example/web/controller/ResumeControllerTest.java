@@ -3,17 +3,24 @@ package org.example.web.controller;
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.groups.Tuple.tuple;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 
 import java.util.UUID;
+import org.example.config.PaginationConfig;
 import org.example.constant.ContextKeys;
+import org.example.error.GlobalExceptionHandler;
 import org.example.persistence.entity.Applicant;
 import org.example.persistence.entity.Resume;
+import org.example.service.CursorService;
 import org.example.service.JwtService;
 import org.example.service.ReactiveContextService;
+import org.example.service.ResumeImportService;
 import org.example.service.ResumeService;
 import org.example.web.filter.AuthenticationWebFilter;
 import org.example.web.filter.AuthorizationWebFilter;
+import org.example.web.filter.LoginRateLimitWebFilter;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Nested;
 import org.junit.jupiter.api.Test;
@@ -23,22 +30,28 @@ import org.springframework.boot.test.autoconfigure.web.reactive.WebFluxTest;
 import org.springframework.boot.test.mock.mockito.MockBean;
 import org.springframework.context.annotation.ComponentScan;
 import org.springframework.context.annotation.FilterType;
+import org.springframework.context.annotation.Import;
 import org.springframework.http.MediaType;
 import org.springframework.test.web.reactive.server.WebTestClient;
 import org.springframework.web.server.ServerWebExchange;
 import reactor.core.publisher.Flux;
 import reactor.core.publisher.Mono;
+import reactor.test.StepVerifier;
 
 @WebFluxTest(
     controllers = ResumeController.class,
     excludeFilters = {@ComponentScan.Filter(type = FilterType.ASSIGNABLE_TYPE,
-        classes = {AuthenticationWebFilter.class, AuthorizationWebFilter.class})})
+        classes = {AuthenticationWebFilter.class, AuthorizationWebFilter.class,
+            LoginRateLimitWebFilter.class})})
 @AutoConfigureWebTestClient
+@Import({CursorService.class, PaginationConfig.class, GlobalExceptionHandler.class})
 class ResumeControllerTest {
 
   @MockBean
   private ResumeService resumeService;
   @MockBean
+  private ResumeImportService resumeImportService;
+  @MockBean
   private JwtService jwtService;
   @MockBean
   private ReactiveContextService reactiveContextService;
@@ -74,7 +87,7 @@ class ResumeControllerTest {
             .education("2019年 C大学卒業")
             .experience("カフェバイト").skills("英検2級").interests("大手企業")
             .urls("https://imageC.png").picture("1.png").build();
-        when(resumeService.findAll())
+        when(resumeService.findPage(any(), anyInt()))
             .thenReturn(Flux.just(resume3, resume2, resume1));
         // when, then
         webTestClient.get()
@@ -109,6 +122,51 @@ class ResumeControllerTest {
     }
   }
 
+  @Nested
+  class Stream {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @Test
+      @DisplayName("NDJSONで履歴書を1件ずつ受け取れる")
+      void streamTheResumes() {
+        // given
+        Resume resume1 = Resume.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .applicantUuid(UUID.fromString("12345678-1234-1234-1234-123456789abc"))
+            .education("2021年 A大学卒業")
+            .experience("居酒屋バイトリーダー").skills("英検1級").interests("外資企業")
+            .urls("https://imageA.png").picture("3.png").build();
+        Resume resume2 = Resume.builder()
+            .uuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .applicantUuid(UUID.fromString("12345678-1234-1234-1234-123456789abd"))
+            .education("2020年 B大学卒業")
+            .experience("コンビニバイト").skills("TOEIC 900点").interests("ベンチャー企業")
+            .urls("https://imageB.png").picture("2.png").build();
+        when(resumeService.findAllInPages(1000))
+            .thenReturn(Flux.just(resume2, resume1));
+        // when
+        Flux<Resume> actual = webTestClient.get()
+            .uri("/api/v1/resumes")
+            .accept(MediaType.APPLICATION_NDJSON)
+            .exchange()
+            .expectStatus().isOk()
+            .expectHeader().contentTypeCompatibleWith(MediaType.APPLICATION_NDJSON)
+            .returnResult(Resume.class)
+            .getResponseBody();
+        // then
+        StepVerifier.create(actual)
+            .assertNext(resume -> assertThat(resume.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-1234-1234-123456789abd")))
+            .assertNext(resume -> assertThat(resume.getUuid())
+                .isEqualTo(UUID.fromString("12345678-1234-1234-1234-123456789abc")))
+            .verifyComplete();
+      }
+    }
+  }
+
   @Nested
   class FindById {
 
@@ -296,6 +354,28 @@ class ResumeControllerTest {
     }
   }
 
+  @Nested
+  class ExpireAll {
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @Test
+      @DisplayName("uuidsがない場合は400")
+      void missingUuids() {
+        // when, then
+        webTestClient.patch()
+            .uri("/api/v1/resumes/expire")
+            .contentType(MediaType.APPLICATION_JSON)
+            .bodyValue("{}")
+            .exchange()
+            .expectStatus().isBadRequest();
+        verifyNoInteractions(resumeService);
+      }
+    }
+  }
+
   @Nested
   class DeleteById {
 
@@ -0,0 +1,94 @@
+package org.example.web.filter;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.Set;
+import org.example.config.AuthConfig;
+import org.example.web.filter.RoutePermissionIndex.Principal;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Nested;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.context.properties.EnableConfigurationProperties;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.annotation.Configuration;
+import org.springframework.context.annotation.Import;
+import org.springframework.http.HttpMethod;
+
+@SpringBootTest(classes = RoutePermissionIndexTest.Config.class,
+    webEnvironment = SpringBootTest.WebEnvironment.NONE)
+class RoutePermissionIndexTest {
+
+  @Configuration
+  @EnableConfigurationProperties(AuthConfig.class)
+  @Import(RoutePermissionIndex.class)
+  static class Config {
+
+  }
+
+  @Autowired
+  private RoutePermissionIndex routePermissionIndex;
+
+  @Nested
+  class Lookup {
+
+    @Nested
+    @DisplayName("正常系")
+    class Regular {
+
+      @ParameterizedTest(name = "{0} {1} -> {2}")
+      @DisplayName("application.ymlの設定どおりに許可する主体を返す")
+      @CsvSource(delimiter = '|', value = {
+          "POST   | /api/v1/applicants/login                                | PUBLIC APPLICANT",
+          "POST   | /api/v1/applicants                                      | PUBLIC APPLICANT",
+          "POST   | /api/v1/companies/login                                 | PUBLIC COMPANY",
+          "POST   | /api/v1/companies                                       | PUBLIC COMPANY",
+          "GET    | /api/v1/applicants                                      | APPLICANT COMPANY",
+          "GET    | /api/v1/offers/resume/12345678-1234-5678-1234-123456789abc | APPLICANT COMPANY",
+          "GET    | /api/v1/exports/offers                                  | APPLICANT COMPANY",
+          "PATCH  | /api/v1/applicants/12345678-1234-1234-1234-123456789abc | APPLICANT",
+          "DELETE | /api/v1/applicants/12345678-1234-1234-1234-123456789abc | APPLICANT",
+          "POST   | /api/v1/resumes                                         | APPLICANT",
+          "POST   | /api/v1/resumes/import                                  | APPLICANT",
+          "PATCH  | /api/v1/resumes/12345678-1234-5678-1234-123456789abc/mint | APPLICANT",
+          "PATCH  | /api/v1/offers/12345678-1234-5678-1234-123456789abc/accept | APPLICANT",
+          "PATCH  | /api/v1/offers/12345678-1234-5678-1234-123456789abc/reject | APPLICANT",
+          "PATCH  | /api/v1/companies/12345678-1234-1234-1234-123456789abc  | COMPANY",
+          "POST   | /api/v1/offers                                          | COMPANY",
+          "POST   | /api/v1/offers/batch                                    | COMPANY",
+          "PATCH  | /api/v1/offers/12345678-1234-5678-1234-123456789abc     | COMPANY",
+          "DELETE | /api/v1/offers/12345678-1234-5678-1234-123456789abc     | COMPANY",
+          "PATCH  | /api/v1/offers/12345678-1234-5678-1234-123456789abc/payment | COMPANY",
+      })
+      void lookup(String method, String path, String expected) {
+        // given
+        Set<Principal> principals = EnumSet.noneOf(Principal.class);
+        Arrays.stream(expected.split(" ")).map(Principal::valueOf).forEach(principals::add);
+        // when, then
+        assertThat(routePermissionIndex.lookup(HttpMethod.valueOf(method), path))
+            .isEqualTo(principals);
+      }
+    }
+
+    @Nested
+    @DisplayName("異常系")
+    class Error {
+
+      @ParameterizedTest(name = "{0} {1}")
+      @DisplayName("どの主体にも許可されていないリクエストは空を返す")
+      @CsvSource(delimiter = '|', value = {
+          "POST   | /api/v1/offers/12345678-1234-5678-1234-123456789abc/accept",
+          "POST   | /api/v1/offers/12345678-1234-5678-1234-123456789abc/payment",
+          "PUT    | /api/v1/unknown",
+      })
+      void denied(String method, String path) {
+        // when, then
+        assertThat(routePermissionIndex.lookup(HttpMethod.valueOf(method), path))
+            .isEmpty();
+      }
+    }
+  }
+}
@@ -0,0 +1 @@
+UPDATE offers SET company_name = (SELECT companies.name FROM companies WHERE companies.uuid = offers.company_uuid);
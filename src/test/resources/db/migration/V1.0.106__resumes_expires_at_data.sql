@@ -0,0 +1,2 @@
+UPDATE resumes SET expires_at = updated_at + INTERVAL '30' DAY
+WHERE mint_status_id = 1 AND expires_at IS NULL;